@@ -0,0 +1,27 @@
+package de.doccrazy.ld35.benchmarks;
+
+import com.badlogic.gdx.utils.XmlReader;
+import de.doccrazy.ld35.headless.HeadlessRuntime;
+import de.doccrazy.ld35.headless.HeadlessSimulation;
+import de.doccrazy.shared.game.world.GameState;
+
+final class BenchmarkWorlds {
+    private BenchmarkWorlds() {
+    }
+
+    static XmlReader.Element level(String path) {
+        HeadlessRuntime.init();
+        return HeadlessRuntime.readLevel(HeadlessRuntime.levelFile(path));
+    }
+
+    /**
+     * Creates a headless world for the level and steps it until the player is under control
+     */
+    static HeadlessSimulation running(String path) {
+        HeadlessSimulation sim = new HeadlessSimulation(level(path));
+        while (sim.getWorld().getGameState() != GameState.GAME) {
+            sim.step();
+        }
+        return sim;
+    }
+}
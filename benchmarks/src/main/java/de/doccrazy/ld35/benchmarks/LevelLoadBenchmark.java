@@ -0,0 +1,69 @@
+package de.doccrazy.ld35.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.XmlReader;
+import de.doccrazy.ld35.game.actor.SVGLevelActor;
+import de.doccrazy.ld35.game.level.LevelCompiler;
+import de.doccrazy.ld35.game.level.LevelData;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.ld35.headless.HeadlessRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of starting a level: from a parsed SVG document, from SVG on disk, and from the compiled binary level
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LevelLoadBenchmark {
+    @Param({"level.svg", "level2.svg", "levels/example.svg"})
+    public String level;
+
+    private XmlReader.Element element;
+    private FileHandle compiled;
+    private GameWorld world;
+
+    @Setup(Level.Trial)
+    public void loadXml() {
+        element = BenchmarkWorlds.level(level);
+        GameWorld scratch = HeadlessRuntime.createWorld();
+        compiled = FileHandle.tempFile("level");
+        LevelCompiler.compile(scratch, element, false).save(compiled);
+        HeadlessRuntime.disposeWorld(scratch);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCompiled() {
+        compiled.delete();
+    }
+
+    @Setup(Level.Invocation)
+    public void createWorld() {
+        world = HeadlessRuntime.createWorld();
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeWorld() {
+        HeadlessRuntime.disposeWorld(world);
+    }
+
+    @Benchmark
+    public SVGLevelActor build() {
+        return new SVGLevelActor(world, element);
+    }
+
+    @Benchmark
+    public SVGLevelActor loadCompiled() {
+        return new SVGLevelActor(world, LevelData.load(compiled), null);
+    }
+
+    @Benchmark
+    public SVGLevelActor parseAndBuild() {
+        return new SVGLevelActor(world, HeadlessRuntime.readLevel(HeadlessRuntime.levelFile(level)));
+    }
+}
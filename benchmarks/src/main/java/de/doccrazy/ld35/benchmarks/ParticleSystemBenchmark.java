@@ -0,0 +1,57 @@
+package de.doccrazy.ld35.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
+import de.doccrazy.ld35.core.Resource;
+import de.doccrazy.ld35.game.particle.ParticleSystem;
+import de.doccrazy.ld35.headless.HeadlessRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of the particle system with {@link #EMITTERS} fire effects on screen (around 5500 live particles),
+ * simulated and drawn into a batch against the no-op GL.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ParticleSystemBenchmark {
+    private static final int EMITTERS = 100;
+    private static final float DELTA = 1f / 60f;
+
+    private ParticleSystem particles;
+    private SpriteBatch batch;
+    private final Rectangle view = new Rectangle(0, 0, 40, 20);
+
+    @Setup(Level.Trial)
+    public void start() {
+        HeadlessRuntime.initGraphics();
+        particles = new ParticleSystem(Resource.GFX.particles);
+        for (int i = 0; i < EMITTERS; i++) {
+            particles.spawn("fire", (i % 10) * 4f + 2f, (i / 10) * 2f + 1f, 1f, ParticleSystem.LAYER_FRONT);
+        }
+        //fill up to the steady state
+        for (int i = 0; i < 300; i++) {
+            particles.update(DELTA, view);
+        }
+        batch = new SpriteBatch(8191);
+    }
+
+    @TearDown(Level.Trial)
+    public void dispose() {
+        batch.dispose();
+    }
+
+    @Benchmark
+    public int frame() {
+        particles.update(DELTA, view);
+        batch.begin();
+        particles.draw(batch, ParticleSystem.LAYER_FRONT);
+        batch.end();
+        return particles.getParticleCount();
+    }
+}
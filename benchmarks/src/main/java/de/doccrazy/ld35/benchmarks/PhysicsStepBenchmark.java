@@ -0,0 +1,50 @@
+package de.doccrazy.ld35.benchmarks;
+
+import de.doccrazy.ld35.headless.HeadlessSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state cost of one world step with the player in each shape. The round is restarted after
+ * {@link #MAX_STEPS} steps or when it ends, so samples never time a finished world.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PhysicsStepBenchmark {
+    //60 s of play, well within the round time limit
+    private static final int MAX_STEPS = 60 * 60;
+
+    @Param({"level.svg", "level2.svg"})
+    public String level;
+
+    @Param({"0", "1", "2"})
+    public int shape;
+
+    private HeadlessSimulation sim;
+
+    @Setup(Level.Iteration)
+    public void start() {
+        sim = BenchmarkWorlds.running(level);
+        sim.getWorld().getPlayer().setShapeState(shape);
+    }
+
+    @TearDown(Level.Iteration)
+    public void dispose() {
+        sim.dispose();
+    }
+
+    @Benchmark
+    public boolean step() {
+        boolean running = sim.step();
+        if (!running || sim.getWorld().getPlayer().isDead() || sim.getSteps() >= MAX_STEPS) {
+            sim.dispose();
+            start();
+        }
+        return running;
+    }
+}
@@ -0,0 +1,71 @@
+package de.doccrazy.ld35.benchmarks;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import de.doccrazy.ld35.game.actor.PlayerActor;
+import de.doccrazy.ld35.headless.HeadlessSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single PlayerActor.setShapeState call, cycling through all three shapes. {@link #mutateFixture()} replays
+ * the old switch (live fixture mutation with resetMassData) on an equivalent body as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ShapeSwitchBenchmark {
+    private static final float[] RADIUS = {0.45f, 0.5f, 0.1f};
+
+    private HeadlessSimulation sim;
+    private PlayerActor player;
+    private Body body;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        sim = BenchmarkWorlds.running("level.svg");
+        player = sim.getWorld().getPlayer();
+        BodyDef def = new BodyDef();
+        def.type = BodyDef.BodyType.DynamicBody;
+        def.position.set(player.getX(), player.getY() + 5f);
+        body = sim.getWorld().box2dWorld.createBody(def);
+        CircleShape circle = new CircleShape();
+        circle.setRadius(RADIUS[0]);
+        body.createFixture(circle, 3f).setFriction(0.1f);
+        circle.dispose();
+    }
+
+    @TearDown(Level.Trial)
+    public void dispose() {
+        sim.dispose();
+    }
+
+    @Benchmark
+    public int switchShape() {
+        next = (next + 1) % 3;
+        player.setShapeState(next);
+        return player.getShapeState();
+    }
+
+    @Benchmark
+    public float mutateFixture() {
+        next = (next + 1) % 3;
+        Fixture fixture = body.getFixtureList().get(0);
+        fixture.getShape().setRadius(RADIUS[next]);
+        body.resetMassData();
+        fixture.setRestitution(next == 2 ? 0f : 0.1f);
+        body.setLinearDamping(next == 0 ? 0.2f : next == 1 ? 0.05f : 0.01f);
+        body.setAngularDamping(next == 1 ? 0.05f : 0.8f);
+        body.setFixedRotation(next == 2);
+        body.setGravityScale(next == 2 ? 0.1f : 1f);
+        body.setAwake(true);
+        return body.getMass();
+    }
+}
@@ -1,5 +1,6 @@
 package de.doccrazy.ld35.data;
 
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
 
 public class GameRules {
@@ -8,4 +9,13 @@ public class GameRules {
     //width of the visible level area on screen
     public static final int LEVEL_WIDTH = 16;
     public static final int LEVEL_HEIGHT = (int)(LEVEL_WIDTH*9f/16f);
+
+    public static final Color AMBIENT_LIGHT = new Color(0.5f, 0.5f, 0.5f, 1f);
+    //static level lights are pre-rendered into a lightmap instead of being cast by the RayHandler each frame
+    public static final boolean BAKED_LIGHTS = true;
+
+    //physics always advances in steps of this size, independent of the display refresh rate
+    public static final float PHYSICS_STEP = 1f / 60f;
+    //steps per frame at most; time beyond that is dropped instead of slowing down every following frame
+    public static final int MAX_SUBSTEPS = 5;
 }
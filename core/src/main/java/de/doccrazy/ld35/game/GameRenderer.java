@@ -19,6 +19,8 @@ import de.doccrazy.shared.game.BaseGameRenderer;
 import de.doccrazy.shared.game.world.GameState;
 import net.dermetfan.gdx.math.GeometryUtils;
 
+import java.util.function.Consumer;
+
 public class GameRenderer extends BaseGameRenderer<GameWorld> {
 	private static final float CAM_PPS = 5f;
 
@@ -28,6 +30,9 @@ public class GameRenderer extends BaseGameRenderer<GameWorld> {
 	private float camY;
     private boolean animateCamera;
 	private float shakeAmount = 0;
+	private final Vector2 cameraCenter = new Vector2();
+	private final Rectangle view = new Rectangle();
+	private final Consumer<ScreenShakeEvent> onScreenShake = screenShakeEvent -> shakeAmount += 0.1f;
 
     public GameRenderer(GameWorld world) {
         super(world, new Vector2(GameRules.LEVEL_WIDTH, GameRules.LEVEL_HEIGHT));
@@ -35,7 +40,14 @@ public class GameRenderer extends BaseGameRenderer<GameWorld> {
 
     @Override
     protected void init() {
-        world.rayHandler.setAmbientLight(new Color(0.5f, 0.5f, 0.5f, 1f));
+        if (GameRules.BAKED_LIGHTS) {
+            //ambient and static lights come from the level lightmap; without shadows and blur the ray handler
+            //skips its light map pass and only draws dynamic lights
+            world.rayHandler.setShadows(false);
+            world.rayHandler.setBlur(false);
+        } else {
+            world.rayHandler.setAmbientLight(GameRules.AMBIENT_LIGHT);
+        }
     }
 
     @Override
@@ -50,17 +62,22 @@ public class GameRenderer extends BaseGameRenderer<GameWorld> {
 	@Override
 	protected void beforeRender() {
         shakeAmount = shakeAmount * 0.91f;
-        world.pollEvents(ScreenShakeEvent.class, screenShakeEvent -> shakeAmount += 0.1f);
+        world.getScreenShakes().poll(onScreenShake);
 
 	    //zoom = MathUtils.clamp(zoom + zoomDelta*0.02f, 1f, 2f);
 
         if (world.getGameState() != GameState.INIT) {
-            Vector2 cameraCenter = GeometryUtils.keepWithin(new Vector2(world.getPlayer().getX() - GameRules.LEVEL_WIDTH / 2f, world.getPlayer().getY() - GameRules.LEVEL_HEIGHT / 2f),
+            GeometryUtils.keepWithin(cameraCenter.set(world.getPlayer().getDrawX() - GameRules.LEVEL_WIDTH / 2f, world.getPlayer().getDrawY() - GameRules.LEVEL_HEIGHT / 2f),
                     GameRules.LEVEL_WIDTH, GameRules.LEVEL_HEIGHT,
                     0, 0, world.getLevel().getBoundingBox().width, world.getLevel().getBoundingBox().height);
             camera.position.x = cameraCenter.x + GameRules.LEVEL_WIDTH / 2f + MathUtils.random(-shakeAmount, shakeAmount);
             camera.position.y = cameraCenter.y + GameRules.LEVEL_HEIGHT / 2f + MathUtils.random(-shakeAmount, shakeAmount);
         }
+        if (world.getLevel() != null) {
+            world.getLevel().setView(view.set(camera.position.x - camera.viewportWidth / 2f, camera.position.y - camera.viewportHeight / 2f,
+                    camera.viewportWidth, camera.viewportHeight));
+            world.getSpatialIndex().cull(world.getLevel().getView());
+        }
 
         /*if (animateCamera) {
             camY -= Gdx.graphics.getDeltaTime() * CAM_PPS;
@@ -4,16 +4,41 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 
 import de.doccrazy.ld35.core.Resource;
 import de.doccrazy.ld35.game.actor.SVGLevelActor;
+import de.doccrazy.ld35.game.level.LevelHotReloader;
+import de.doccrazy.ld35.game.profiler.FrameProfiler;
 import de.doccrazy.ld35.game.ui.UiRoot;
 import de.doccrazy.ld35.game.world.GameWorld;
 import de.doccrazy.shared.game.BaseGameScreen;
 
 public class GameScreen extends BaseGameScreen<GameWorld, GameRenderer> {
+	private GameWorld world;
+	private LevelHotReloader levelReloader;
 
 	@Override
 	protected GameWorld createWorld() {
 		//return new GameWorld(Level1Actor::new, Level2Actor::new);
-		return new GameWorld();
+		world = new GameWorld();
+		levelReloader = new LevelHotReloader(world);
+		return world;
+	}
+
+	public GameWorld getWorld() {
+		return world;
+	}
+
+	@Override
+	public void render(float delta) {
+		long frame = FrameProfiler.beginFrame();
+		levelReloader.update();
+		super.render(delta);
+		FrameProfiler.endFrame(frame);
+	}
+
+	@Override
+	public void dispose() {
+		levelReloader.dispose();
+		FrameProfiler.stopCsv();
+		super.dispose();
 	}
 
 	@Override
@@ -0,0 +1,192 @@
+package de.doccrazy.ld35.game.actor;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import de.doccrazy.ld35.core.Resource;
+import de.doccrazy.ld35.game.profiler.FrameProfiler;
+import de.doccrazy.ld35.game.profiler.Phase;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.shared.game.actor.WorldActor;
+
+/**
+ * Persistent decals (blood splats) on the level. Splats are stamped once into framebuffer tiles covering the level,
+ * which are drawn as one quad each, so the cost per frame does not grow with the number of splats.
+ */
+public class DecalLayerActor extends WorldActor<GameWorld> {
+    private static final int TILE_PIXELS = 512;
+    private static final float PIXELS_PER_UNIT = 32f;
+    private static final float TILE_UNITS = TILE_PIXELS / PIXELS_PER_UNIT;
+    private static final float BLOOD_SIZE = 0.6f;
+    private static final Color BLOOD_COLOR = new Color(0.8f, 0, 0, 0.8f);
+
+    private final Rectangle area = new Rectangle();
+    private final int columns, rows;
+    //created on the first splat touching them
+    private final FrameBuffer[] tiles;
+    private final TextureRegion[] regions;
+    private final Array<Splat> pending = new Array<>();
+    private final Pool<Splat> splatPool = new Pool<Splat>() {
+        @Override
+        protected Splat newObject() {
+            return new Splat();
+        }
+    };
+    private final OrthographicCamera tileCamera = new OrthographicCamera();
+    private SpriteBatch stampBatch;
+
+    /**
+     * @param area level area that can receive decals, in world units
+     */
+    public DecalLayerActor(GameWorld world, Rectangle area) {
+        super(world);
+        this.area.set(area);
+        setzOrder(15);
+        columns = Math.max(1, MathUtils.ceil(area.width / TILE_UNITS));
+        rows = Math.max(1, MathUtils.ceil(area.height / TILE_UNITS));
+        tiles = new FrameBuffer[columns * rows];
+        regions = new TextureRegion[columns * rows];
+    }
+
+    /**
+     * Adds a random blood splat with its lower left corner at the given position
+     */
+    public void splatBlood(float x, float y) {
+        stamp(Resource.GFX.blood[MathUtils.random(Resource.GFX.blood.length - 1)], x, y, BLOOD_SIZE, BLOOD_SIZE, 0, BLOOD_COLOR);
+    }
+
+    /**
+     * Queues a region to be stamped permanently into the layer before it is drawn next
+     */
+    public void stamp(TextureRegion region, float x, float y, float width, float height, float rotation, Color color) {
+        Splat splat = splatPool.obtain();
+        splat.region = region;
+        splat.bounds.set(x, y, width, height);
+        splat.rotation = rotation;
+        splat.color.set(color);
+        pending.add(splat);
+    }
+
+    @Override
+    protected void doAct(float delta) {
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        long start = FrameProfiler.start();
+        if (pending.size > 0) {
+            batch.end();
+            flushPending();
+            batch.begin();
+        }
+        Rectangle view = world.getLevel().getView();
+        int fromX = Math.max(0, (int) ((view.x - area.x) / TILE_UNITS)), toX = Math.min(columns - 1, (int) ((view.x + view.width - area.x) / TILE_UNITS));
+        int fromY = Math.max(0, (int) ((view.y - area.y) / TILE_UNITS)), toY = Math.min(rows - 1, (int) ((view.y + view.height - area.y) / TILE_UNITS));
+        //tiles hold premultiplied colors, see flushPending
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.setColor(1, 1, 1, 1);
+        for (int ty = fromY; ty <= toY; ty++) {
+            for (int tx = fromX; tx <= toX; tx++) {
+                TextureRegion region = regions[ty * columns + tx];
+                if (region != null) {
+                    batch.draw(region, area.x + tx * TILE_UNITS, area.y + ty * TILE_UNITS, TILE_UNITS, TILE_UNITS);
+                }
+            }
+        }
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        FrameProfiler.stop(Phase.DECALS, start);
+    }
+
+    /**
+     * Renders queued splats into every tile they overlap. Color is blended normally, alpha is accumulated, which
+     * leaves premultiplied colors in the tiles.
+     */
+    private void flushPending() {
+        if (stampBatch == null) {
+            stampBatch = new SpriteBatch(100);
+        }
+        //-1 keeps SpriteBatch from setting its own blend function on flush
+        stampBatch.setBlendFunction(-1, -1);
+        for (int i = 0; i < tiles.length; i++) {
+            int tx = i % columns, ty = i / columns;
+            float tileX = area.x + tx * TILE_UNITS, tileY = area.y + ty * TILE_UNITS;
+            boolean begun = false;
+            for (int s = 0; s < pending.size; s++) {
+                Rectangle b = pending.get(s).bounds;
+                //rotated splats may reach out by up to half their diagonal
+                float reach = Math.max(b.width, b.height) * 0.5f;
+                if (b.x + b.width + reach < tileX || b.x - reach > tileX + TILE_UNITS
+                        || b.y + b.height + reach < tileY || b.y - reach > tileY + TILE_UNITS) {
+                    continue;
+                }
+                if (!begun) {
+                    beginTile(i, tileX, tileY);
+                    begun = true;
+                }
+                Splat splat = pending.get(s);
+                stampBatch.setColor(splat.color);
+                stampBatch.draw(splat.region, b.x, b.y, b.width / 2f, b.height / 2f, b.width, b.height, 1, 1, splat.rotation);
+            }
+            if (begun) {
+                stampBatch.end();
+                Viewport viewport = world.stage.getViewport();
+                tiles[i].end(viewport.getScreenX(), viewport.getScreenY(), viewport.getScreenWidth(), viewport.getScreenHeight());
+            }
+        }
+        splatPool.freeAll(pending);
+        pending.clear();
+    }
+
+    private void beginTile(int index, float tileX, float tileY) {
+        boolean created = tiles[index] == null;
+        if (created) {
+            tiles[index] = new FrameBuffer(Pixmap.Format.RGBA8888, TILE_PIXELS, TILE_PIXELS, false);
+            regions[index] = new TextureRegion(tiles[index].getColorBufferTexture());
+            //framebuffer textures are upside down
+            regions[index].flip(false, true);
+        }
+        tiles[index].begin();
+        if (created) {
+            Gdx.gl.glClearColor(0, 0, 0, 0);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        }
+        tileCamera.setToOrtho(false, TILE_UNITS, TILE_UNITS);
+        tileCamera.position.set(tileX + TILE_UNITS / 2f, tileY + TILE_UNITS / 2f, 0);
+        tileCamera.update();
+        stampBatch.setProjectionMatrix(tileCamera.combined);
+        stampBatch.begin();
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFuncSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    @Override
+    protected void doRemove() {
+        for (FrameBuffer tile : tiles) {
+            if (tile != null) {
+                tile.dispose();
+            }
+        }
+        if (stampBatch != null) {
+            stampBatch.dispose();
+        }
+        super.doRemove();
+    }
+
+    private static class Splat {
+        TextureRegion region;
+        final Rectangle bounds = new Rectangle();
+        final Color color = new Color();
+        float rotation;
+    }
+}
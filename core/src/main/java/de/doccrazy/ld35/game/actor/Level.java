@@ -17,6 +17,7 @@ public abstract class Level extends Box2dActor<GameWorld> {
     protected float grassPerSec;
     protected RandomEvent fussballPerSec;
     protected float dogPerSecPerFussball;
+    private final Rectangle view = new Rectangle();
 
     public Level(GameWorld world) {
         super(world);
@@ -32,6 +33,22 @@ public abstract class Level extends Box2dActor<GameWorld> {
 
     public abstract float getTime();
 
+    public abstract String getTitle();
+
+    /**
+     * Called by the renderer every frame with the area visible to the camera, before anything is drawn
+     */
+    public void setView(Rectangle view) {
+        this.view.set(view);
+    }
+
+    /**
+     * Area visible to the camera in the last rendered frame, for culling; empty without a renderer
+     */
+    public Rectangle getView() {
+        return view;
+    }
+
     /**
      * Gets a random point <b>inside</b> the level (i.e. the playable area)
      * @param avoidPlayer true to keep some distance away from the player character
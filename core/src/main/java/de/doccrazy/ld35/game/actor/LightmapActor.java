@@ -0,0 +1,49 @@
+package de.doccrazy.ld35.game.actor;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Rectangle;
+import de.doccrazy.ld35.game.level.Lightmap;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.shared.game.actor.WorldActor;
+
+/**
+ * Multiplies a baked level lightmap onto everything drawn before it in the world stage
+ */
+public class LightmapActor extends WorldActor<GameWorld> {
+    private final Texture texture;
+    private final Rectangle area;
+
+    /**
+     * @param area level area the lightmap covers, in world units
+     */
+    public LightmapActor(GameWorld world, Lightmap lightmap, Rectangle area) {
+        super(world);
+        this.area = area;
+        setzOrder(1000);
+        Pixmap pixmap = lightmap.toPixmap();
+        texture = new Texture(pixmap);
+        texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        pixmap.dispose();
+    }
+
+    @Override
+    protected void doAct(float delta) {
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        batch.setBlendFunction(GL20.GL_DST_COLOR, GL20.GL_ZERO);
+        batch.setColor(1, 1, 1, 1);
+        batch.draw(texture, area.x, area.y, area.width, area.height);
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    @Override
+    protected void doRemove() {
+        texture.dispose();
+        super.doRemove();
+    }
+}
@@ -0,0 +1,36 @@
+package de.doccrazy.ld35.game.actor;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import de.doccrazy.ld35.game.particle.ParticleSystem;
+import de.doccrazy.ld35.game.profiler.FrameProfiler;
+import de.doccrazy.ld35.game.profiler.Phase;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.shared.game.actor.WorldActor;
+
+/**
+ * Draws one layer of the world's particle system at its place in the actor z order
+ */
+public class ParticleLayerActor extends WorldActor<GameWorld> {
+    private final int layer;
+
+    /**
+     * @param layer {@link ParticleSystem#LAYER_BACK} to draw right above the level, {@link ParticleSystem#LAYER_FRONT}
+     *              to draw above the player
+     */
+    public ParticleLayerActor(GameWorld world, int layer) {
+        super(world);
+        this.layer = layer;
+        setzOrder(layer == ParticleSystem.LAYER_BACK ? 1 : 60);
+    }
+
+    @Override
+    protected void doAct(float delta) {
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        long start = FrameProfiler.start();
+        world.getParticles().draw(batch, layer);
+        FrameProfiler.stop(Phase.PARTICLES, start);
+    }
+}
@@ -1,17 +1,18 @@
 package de.doccrazy.ld35.game.actor;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.MassData;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
-import com.badlogic.gdx.scenes.scene2d.InputListener;
 import de.doccrazy.ld35.core.Resource;
+import de.doccrazy.ld35.game.particle.ParticleSystem;
 import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.ld35.game.world.Interpolated;
 import de.doccrazy.shared.game.actor.GroundContactAction;
-import de.doccrazy.shared.game.actor.ParticleEvent;
 import de.doccrazy.shared.game.actor.ShapeActor;
 import de.doccrazy.shared.game.base.KeyboardMovementListener;
 import de.doccrazy.shared.game.base.MovementInputListener;
@@ -19,7 +20,7 @@ import de.doccrazy.shared.game.world.BodyBuilder;
 import de.doccrazy.shared.game.world.GameState;
 import de.doccrazy.shared.game.world.ShapeBuilder;
 
-public class PlayerActor extends ShapeActor<GameWorld> {
+public class PlayerActor extends ShapeActor<GameWorld> implements Interpolated {
     private static final float RADIUS = 0.5f;
     private static final float VELOCITY = 5f;
     private static final float TORQUE = 2f;
@@ -30,12 +31,22 @@ public class PlayerActor extends ShapeActor<GameWorld> {
     public static final float V_MAX_ROLL = 40f;
     public static final float GLIDE_V_SCALE = 0.01f;
 
-    private MovementInputListener movement;
+    private static final ShapeConfig[] SHAPES = {
+            new ShapeConfig(RADIUS*0.9f, 0.1f, 0.2f, 0.8f, 1f, false, false),
+            new ShapeConfig(RADIUS, 0.1f, 0.05f, 0.05f, 1f, false, true),
+            new ShapeConfig(RADIUS/5f, 0f, 0.01f, 0.8f, 0.1f, true, false),
+    };
+
+    private final MassData[] shapeMass = new MassData[SHAPES.length];
+    private final float[] shapeScaleY = new float[SHAPES.length];
+    private Fixture fixture;
+    private PlayerController controller;
     private final GroundContactAction groundContact;
     private boolean moving;
     private float orientation = 1;
     private int shapeState;
     private float lastJump = 0;
+    private float prevX, prevY, prevRotation;
 
     public PlayerActor(GameWorld world, Vector2 spawn) {
         super(world, spawn, false);
@@ -47,9 +58,29 @@ public class PlayerActor extends ShapeActor<GameWorld> {
     @Override
     protected void init() {
         super.init();
+        fixture = body.getFixtureList().get(0);
+        prebuildShapes();
         setShapeState(0);
     }
 
+    /**
+     * Computes mass data and sprite scale for every shape once, so switching only copies the cached values
+     */
+    private void prebuildShapes() {
+        for (int i = 0; i < SHAPES.length; i++) {
+            fixture.getShape().setRadius(SHAPES[i].radius);
+            body.resetMassData();
+            MassData mass = body.getMassData();
+            shapeMass[i] = new MassData();
+            shapeMass[i].mass = mass.mass;
+            shapeMass[i].center.set(mass.center);
+            shapeMass[i].I = mass.I;
+            if (!world.isHeadless()) {
+                shapeScaleY[i] = Resource.GFX.player[i].getHeight() / Resource.GFX.player[i].getWidth();
+            }
+        }
+    }
+
     @Override
     protected BodyBuilder createBody(Vector2 spawn) {
         return BodyBuilder.forDynamic(spawn)
@@ -57,7 +88,7 @@ public class PlayerActor extends ShapeActor<GameWorld> {
     }
 
     public void setupKeyboardControl() {
-        movement = new KeyboardMovementListener() {
+        KeyboardMovementListener movement = new KeyboardMovementListener() {
             @Override
             public boolean keyDown(InputEvent event, int keycode) {
                 if (Input.Keys.NUM_1 == keycode) {
@@ -75,70 +106,65 @@ public class PlayerActor extends ShapeActor<GameWorld> {
                 return super.keyDown(event, keycode);
             }
         };
-        addListener((InputListener)movement);
+        addListener(movement);
+        setupController(movement);
     }
 
-    private void setShapeState(int state) {
+    public void setShapeState(int state) {
+        ShapeConfig shape = SHAPES[state];
         shapeState = state;
-        switch (state) {
-            case 0:
-                body.getFixtureList().get(0).getShape().setRadius(RADIUS*0.9f);
-                body.resetMassData();
-                body.getFixtureList().get(0).setRestitution(0.1f);
-                body.setLinearDamping(0.2f);
-                body.setAngularDamping(0.8f);
-                body.setFixedRotation(false);
-                body.setGravityScale(1f);
-                setUseRotation(false);
-                setRotation(0);
-                break;
-            case 1:
-                body.getFixtureList().get(0).getShape().setRadius(RADIUS);
-                body.resetMassData();
-                body.getFixtureList().get(0).setRestitution(0.1f);
-                body.setLinearDamping(0.05f);
-                body.setAngularDamping(0.05f);
-                body.setFixedRotation(false);
-                body.setGravityScale(1f);
-                setUseRotation(true);
-                break;
-            case 2:
-                body.getFixtureList().get(0).getShape().setRadius(RADIUS/5f);
-                body.resetMassData();
-                body.getFixtureList().get(0).setRestitution(0f);
-                body.setLinearDamping(0.01f);
-                body.setAngularDamping(0.8f);
-                body.setFixedRotation(true);
-                body.setGravityScale(0.1f);
-                Vector2 v = body.getLinearVelocity();
-                body.setLinearVelocity(v.x, MathUtils.clamp(v.y, -1f, 1f));
-                setUseRotation(false);
-                setRotation(0);
-                break;
+        fixture.getShape().setRadius(shape.radius);
+        fixture.setRestitution(shape.restitution);
+        body.setLinearDamping(shape.linearDamping);
+        body.setAngularDamping(shape.angularDamping);
+        body.setGravityScale(shape.gravityScale);
+        if (body.isFixedRotation() != shape.fixedRotation) {
+            //this recomputes the mass data, which is overwritten below anyway
+            body.setFixedRotation(shape.fixedRotation);
+        }
+        body.setMassData(shapeMass[state]);
+        if (state == 2) {
+            Vector2 v = body.getLinearVelocity();
+            body.setLinearVelocity(v.x, MathUtils.clamp(v.y, -1f, 1f));
+        }
+        setUseRotation(shape.useRotation);
+        if (!shape.useRotation) {
+            setRotation(0);
         }
         body.setAwake(true);
-        setScaleY(Resource.GFX.player[shapeState].getHeight() / Resource.GFX.player[shapeState].getWidth());
+        if (!world.isHeadless()) {
+            setScaleY(shapeScaleY[state]);
+        }
     }
 
     public void setupController(MovementInputListener movement) {
-        this.movement = movement;
+        this.controller = movement == null ? null : PlayerController.of(movement);
+    }
+
+    public void setupController(PlayerController controller) {
+        this.controller = controller;
+    }
+
+    public PlayerController getController() {
+        return controller;
     }
 
     @Override
     protected void doAct(float delta) {
-        if (movement != null && world.getGameState() == GameState.GAME) {
+        if (controller != null && world.getGameState() == GameState.GAME) {
+            controller.beforeStep(this, delta);
             move(delta);
         } else {
             body.setAngularVelocity(0);
         }
-        if (body.getPosition().y + body.getFixtureList().get(0).getShape().getRadius() < world.getLevel().getBoundingBox().y) {
+        if (body.getPosition().y + SHAPES[shapeState].radius < world.getLevel().getBoundingBox().y) {
             kill();
         }
         super.doAct(delta);
     }
 
     private void move(float delta) {
-        Vector2 mv = movement.getMovement();
+        Vector2 mv = controller.getMovement();
         moving = Math.abs(mv.x) > 0;
         if (moving) {
             orientation = Math.signum(mv.x);
@@ -156,7 +182,7 @@ public class PlayerActor extends ShapeActor<GameWorld> {
                     }
                 }
             }
-            boolean jump = movement.pollJump();
+            boolean jump = controller.pollJump();
             if (stateTime - lastJump > GroundContactAction.FLOOR_CONTACT_TTL && jump) {
                 if (groundContact.isTouchingFloor()) {
                     addImpulse(0f, JUMP_IMPULSE);
@@ -191,23 +217,65 @@ public class PlayerActor extends ShapeActor<GameWorld> {
         //floorContacts.clear();
     }
 
+    @Override
+    public void savePreviousState() {
+        prevX = getX();
+        prevY = getY();
+        prevRotation = getRotation();
+    }
+
+    /**
+     * Horizontal position to draw at, between the last two physics steps
+     */
+    public float getDrawX() {
+        return MathUtils.lerp(prevX, getX(), world.getInterpolationAlpha());
+    }
+
+    public float getDrawY() {
+        return MathUtils.lerp(prevY, getY(), world.getInterpolationAlpha());
+    }
+
     @Override
     public void draw(Batch batch, float parentAlpha) {
-        drawRegion(batch, Resource.GFX.player[shapeState]);
+        float rotation = MathUtils.lerpAngleDeg(prevRotation, getRotation(), world.getInterpolationAlpha());
+        drawRegion(batch, Resource.GFX.player[shapeState], getDrawX(), getDrawY(), rotation);
+    }
+
+    private void drawRegion(Batch batch, TextureRegion region, float x, float y, float rotation) {
+        batch.draw(region, x, y, getOriginX(), getOriginY(), getWidth(), getHeight(), getScaleX(), getScaleY(), rotation);
     }
 
-    private void drawParticle(Batch batch, ParticleEffectPool.PooledEffect effect, Vector2 attach, float rotation) {
-        Vector2 center = new Vector2(getX() + getOriginX(), getY() + getOriginY());
-        float r = getRotation() + rotation;
-        Vector2 p = attach.rotate(r).add(center);
-        effect.setPosition(p.x, p.y);
-        effect.getEmitters().first().getAngle().setHigh(190 + r, 170 + r);
-        effect.update(Gdx.graphics.getDeltaTime());
-        effect.draw(batch);
+    public int getShapeState() {
+        return shapeState;
+    }
+
+    /**
+     * Radius of the current shape's circle
+     */
+    public float getRadius() {
+        return SHAPES[shapeState].radius;
     }
 
     public void damage(float amount) {
-        world.postEvent(new ParticleEvent(body.getPosition().x, body.getPosition().y, Resource.GFX.particles.get("explosion")));
+        if (!world.isHeadless()) {
+            world.getParticles().spawn("explosion", body.getPosition().x, body.getPosition().y, 1f, ParticleSystem.LAYER_FRONT);
+        }
         kill();
     }
+
+    private static class ShapeConfig {
+        final float radius, restitution, linearDamping, angularDamping, gravityScale;
+        final boolean fixedRotation, useRotation;
+
+        ShapeConfig(float radius, float restitution, float linearDamping, float angularDamping, float gravityScale,
+                    boolean fixedRotation, boolean useRotation) {
+            this.radius = radius;
+            this.restitution = restitution;
+            this.linearDamping = linearDamping;
+            this.angularDamping = angularDamping;
+            this.gravityScale = gravityScale;
+            this.fixedRotation = fixedRotation;
+            this.useRotation = useRotation;
+        }
+    }
 }
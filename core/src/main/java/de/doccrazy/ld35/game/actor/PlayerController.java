@@ -0,0 +1,33 @@
+package de.doccrazy.ld35.game.actor;
+
+import com.badlogic.gdx.math.Vector2;
+import de.doccrazy.shared.game.base.MovementInputListener;
+
+/**
+ * Source of player input, polled once per world step while the game is running
+ */
+public interface PlayerController {
+    /**
+     * Called before the player moves in each step; scripted controllers may switch the shape here
+     */
+    default void beforeStep(PlayerActor player, float delta) {
+    }
+
+    Vector2 getMovement();
+
+    boolean pollJump();
+
+    static PlayerController of(MovementInputListener movement) {
+        return new PlayerController() {
+            @Override
+            public Vector2 getMovement() {
+                return movement.getMovement();
+            }
+
+            @Override
+            public boolean pollJump() {
+                return movement.pollJump();
+            }
+        };
+    }
+}
@@ -1,78 +1,117 @@
 package de.doccrazy.ld35.game.actor;
 
-import box2dLight.ConeLight;
-import box2dLight.PointLight;
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.XmlReader;
-import de.doccrazy.ld35.core.Resource;
 import de.doccrazy.ld35.data.GameRules;
+import de.doccrazy.ld35.game.level.LevelCompiler;
+import de.doccrazy.ld35.game.level.LevelData;
+import de.doccrazy.ld35.game.level.LightManager;
+import de.doccrazy.ld35.game.level.TriggerZones;
+import de.doccrazy.ld35.game.particle.ParticleSystem;
+import de.doccrazy.ld35.game.profiler.FrameProfiler;
+import de.doccrazy.ld35.game.profiler.Phase;
 import de.doccrazy.ld35.game.world.GameWorld;
-import de.doccrazy.shared.game.svg.SVGLayer;
+import de.doccrazy.ld35.resources.TiledBackground;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class SVGLevelActor extends Level {
-    public static final String LAYER_PHYSICS = "Physics";
-    public static final String LAYER_META = "Meta";
-    public static final String LABEL_SCREEN = "screen";
-    public static final String LABEL_SPAWN = "spawn";
-    public static final String PREFIX_PARTICLE = "part:";
-
-    private final Rectangle dimensions, cameraBounds;
-    private final Vector2 spawn;
-    private final TextureRegion levelTexture;
-    private final List<Body> bodies = new ArrayList<>();
-    private final List<ParticleEffectPool.PooledEffect> particles = new ArrayList<>();
-
-    public SVGLevelActor(GameWorld world, XmlReader.Element levelElement, TextureRegion levelTexture) {
+    private String title;
+    private final Rectangle dimensions = new Rectangle(), cameraBounds = new Rectangle();
+    private final Vector2 spawn = new Vector2();
+    private TiledBackground background;
+    private FileHandle sourceFile;
+    private List<Body> bodies;
+    private TriggerZones triggers;
+    private final IntArray particles = new IntArray();
+    private final LightManager levelLights = new LightManager();
+    private LightmapActor lightmap;
+
+    /**
+     * Creates a level without background, lights or particles, for use in a headless world
+     */
+    public SVGLevelActor(GameWorld world, XmlReader.Element levelElement) {
+        this(world, levelElement, null);
+    }
+
+    public SVGLevelActor(GameWorld world, XmlReader.Element levelElement, TiledBackground background) {
+        this(world, LevelCompiler.compile(world, levelElement, true), background);
+    }
+
+    public SVGLevelActor(GameWorld world, LevelData data, TiledBackground background) {
         super(world);
-        this.levelTexture = levelTexture;
-
-        SVGLayer rootLayer = new SVGLayer(levelElement);
-        Vector2 cameraBoundsForScale = rootLayer.getLayerByLabel(LAYER_META).getRectSizeImmediate(LABEL_SCREEN);
-        float scale = GameRules.LEVEL_HEIGHT / cameraBoundsForScale.y;
-
-        rootLayer.applyScale(scale);
-        dimensions = rootLayer.getDimensionsTransformed();
-
-        SVGLayer metaLayer = rootLayer.getLayerByLabel(LAYER_META);
-
-        spawn = metaLayer.getRectCenter(LABEL_SPAWN);
-        Vector2[] boundsPoly = metaLayer.getRectAsPoly(LABEL_SCREEN);
-        cameraBounds = new Rectangle(boundsPoly[0].x, boundsPoly[0].y, boundsPoly[2].x - boundsPoly[0].x, boundsPoly[2].y - boundsPoly[0].y);
-
-        SVGLayer physicsLayer = rootLayer.getLayerByLabel(LAYER_PHYSICS);
-        physicsLayer.createPhysicsBodiesRecursive(bodyBuilder -> bodies.add(bodyBuilder.build(world)));
-
-        metaLayer.processRectCenterByPrefix(PREFIX_PARTICLE, (type, center, color) -> {
-            ParticleEffectPool.PooledEffect particle = Resource.GFX.particles.get(type).obtain();
-            particle.setPosition(center.x, center.y);
-            particles.add(particle);
-        });
-        metaLayer.processRectAsPolyByPrefix("kill", (s, rect, color) -> {
-            world.addActor(new KillboxActor(world, rect));
-        });
-        metaLayer.processRectAsPolyByPrefix("win", (s, rect, color) -> {
-            world.addActor(new WinboxActor(world, rect));
-        });
-        metaLayer.processCircleByPrefix("light", (s, circle, color) -> {
-            PointLight light = new PointLight(world.rayHandler, 10, color, circle.radius*2f, circle.x, circle.y);
-            light.setXray(true);
-            lights.add(light);
-        });
-        metaLayer.processArcByPrefix("conelight", (s, arc, color) -> {
-            ConeLight light = new ConeLight(world.rayHandler, 10, color, arc.r*7f, arc.x, arc.y, MathUtils.radDeg * (arc.a2 + arc.a1)/2f, MathUtils.radDeg * Math.abs(arc.a2 - arc.a1)/2f);
-            light.setXray(true);
-            lights.add(light);
-        });
+        build(data, background);
+    }
+
+    /**
+     * Replaces bodies, trigger zones, lights and particles with the given data, keeping the rest of the world
+     * (player, effects, state) untouched
+     */
+    public void reload(LevelData data, TiledBackground background) {
+        destroyContent();
+        build(data, background);
+    }
+
+    private void build(LevelData data, TiledBackground background) {
+        this.background = background;
+        this.title = data.getTitle();
+        this.dimensions.set(data.getDimensions());
+        this.cameraBounds.set(data.getCameraBounds());
+        this.spawn.set(data.getSpawn());
+
+        bodies = data.createBodies(world.box2dWorld);
+
+        triggers = new TriggerZones(data.getKillZones(), data.getWinZones());
+        if (world.isHeadless()) {
+            return;
+        }
+        for (LevelData.ParticleData p : data.getParticles()) {
+            particles.add(world.getParticles().spawn(p.type, p.x, p.y, 1f, ParticleSystem.LAYER_BACK));
+        }
+        if (GameRules.BAKED_LIGHTS) {
+            world.addActor(lightmap = new LightmapActor(world, data.getLightmap(), dimensions));
+        } else {
+            for (LevelData.LightData l : data.getLights()) {
+                levelLights.add(world.rayHandler, l);
+            }
+        }
+    }
+
+    private void destroyContent() {
+        for (Body b : bodies) {
+            world.box2dWorld.destroyBody(b);
+        }
+        bodies.clear();
+        levelLights.clear();
+        if (lightmap != null) {
+            lightmap.remove();
+            lightmap = null;
+        }
+        stopParticles();
+    }
+
+    /**
+     * The SVG this level was loaded from, if known
+     */
+    public FileHandle getSourceFile() {
+        return sourceFile;
+    }
+
+    public void setSourceFile(FileHandle sourceFile) {
+        this.sourceFile = sourceFile;
+    }
+
+    public TiledBackground getBackground() {
+        return background;
+    }
+
+    public void setBackground(TiledBackground background) {
+        this.background = background;
     }
 
     @Override
@@ -101,20 +140,38 @@ public class SVGLevelActor extends Level {
     }
 
     @Override
-    protected void doAct(float delta) {
+    public String getTitle() {
+        return title;
     }
 
+    /**
+     * Restricts the visible area to the level, then culls lights and background tiles against it
+     */
     @Override
-    public void draw(Batch batch, float parentAlpha) {
-        batch.draw(levelTexture, 0, 0, dimensions.width, dimensions.height);
-        for (ParticleEffectPool.PooledEffect particle : particles) {
-            drawParticle(batch, particle);
+    public void setView(Rectangle view) {
+        if (!view.overlaps(dimensions)) {
+            getView().set(view.x, view.y, 0, 0);
+        } else {
+            float x = Math.max(view.x, dimensions.x), y = Math.max(view.y, dimensions.y);
+            getView().set(x, y, Math.min(view.x + view.width, dimensions.x + dimensions.width) - x,
+                    Math.min(view.y + view.height, dimensions.y + dimensions.height) - y);
         }
+        levelLights.update(getView());
+    }
+
+    @Override
+    protected void doAct(float delta) {
+        triggers.update(world, delta);
     }
 
-    private void drawParticle(Batch batch, ParticleEffectPool.PooledEffect effect) {
-        effect.update(Gdx.graphics.getDeltaTime());
-        effect.draw(batch);
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        if (background == null) {
+            return;
+        }
+        long start = FrameProfiler.start();
+        background.draw(batch, 0, 0, dimensions.width, dimensions.height, getView());
+        FrameProfiler.stop(Phase.LEVEL, start);
     }
 
     @Override
@@ -122,9 +179,16 @@ public class SVGLevelActor extends Level {
         for (Body b : bodies) {
             world.box2dWorld.destroyBody(b);
         }
-        for (ParticleEffectPool.PooledEffect p : particles) {
-            p.free();
-        }
+        bodies.clear();
+        stopParticles();
+        levelLights.clear();
         super.doRemove();
     }
+
+    private void stopParticles() {
+        for (int i = 0; i < particles.size; i++) {
+            world.getParticles().stop(particles.get(i));
+        }
+        particles.clear();
+    }
 }
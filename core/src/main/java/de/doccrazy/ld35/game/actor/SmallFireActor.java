@@ -1,15 +1,13 @@
 package de.doccrazy.ld35.game.actor;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
 import com.badlogic.gdx.math.Vector2;
-import de.doccrazy.ld35.core.Resource;
+import de.doccrazy.ld35.game.particle.ParticleSystem;
 import de.doccrazy.ld35.game.world.GameWorld;
 import de.doccrazy.shared.game.actor.WorldActor;
 
 public class SmallFireActor extends WorldActor<GameWorld> {
-    private final ParticleEffectPool.PooledEffect fire = Resource.GFX.particles.get("fire").obtain();
+    private final int fire;
 
     public SmallFireActor(GameWorld world, Vector2 spawn) {
         super(world);
@@ -17,19 +15,22 @@ public class SmallFireActor extends WorldActor<GameWorld> {
         setSize(0.5f, 0.5f);
         setOrigin(0.25f, 0.25f);
         setzOrder(60);
-        fire.scaleEffect(0.5f);
-        fire.start();
+        fire = world.getParticles().spawn("fire", spawn.x + getOriginX(), spawn.y + getOriginY(), 0.5f, ParticleSystem.LAYER_FRONT);
     }
 
     @Override
     protected void doAct(float delta) {
+        world.getParticles().setPosition(fire, getX() + getOriginX(), getY() + getOriginY());
     }
 
     @Override
     public void draw(Batch batch, float parentAlpha) {
-        fire.setPosition(getX() + getOriginX(), getY() + getOriginY());
-        fire.update(Gdx.graphics.getDeltaTime());
-        fire.draw(batch);
+    }
+
+    @Override
+    protected void doRemove() {
+        world.getParticles().stop(fire);
+        super.doRemove();
     }
 
 }
@@ -0,0 +1,86 @@
+package de.doccrazy.ld35.game.level;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.XmlReader;
+import de.doccrazy.ld35.data.GameRules;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.shared.game.svg.SVGLayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns an Inkscape level SVG into {@link LevelData}: applies scaling, flattens the physics layer into bodies and
+ * collects the markers from the Meta layer.
+ */
+public class LevelCompiler {
+    public static final String LAYER_PHYSICS = "Physics";
+    public static final String LAYER_META = "Meta";
+    public static final String LABEL_SCREEN = "screen";
+    public static final String LABEL_SPAWN = "spawn";
+    public static final String PREFIX_PARTICLE = "part:";
+    public static final String PREFIX_KILL = "kill";
+    public static final String PREFIX_WIN = "win";
+    public static final String PREFIX_LIGHT = "light";
+    public static final String PREFIX_CONELIGHT = "conelight";
+
+    private LevelCompiler() {
+    }
+
+    /**
+     * @param world      world to build the physics bodies in, which are then captured as shapes
+     * @param keepBodies true to leave the built bodies in the world and hand them to the level created from the
+     *                   result, false to destroy them after capturing (offline compilation)
+     */
+    public static LevelData compile(GameWorld world, XmlReader.Element levelElement, boolean keepBodies) {
+        LevelData data = new LevelData();
+        data.title = levelElement.get("title", "");
+
+        SVGLayer rootLayer = new SVGLayer(levelElement);
+        Vector2 cameraBoundsForScale = rootLayer.getLayerByLabel(LAYER_META).getRectSizeImmediate(LABEL_SCREEN);
+        float scale = GameRules.LEVEL_HEIGHT / cameraBoundsForScale.y;
+
+        rootLayer.applyScale(scale);
+        data.dimensions.set(rootLayer.getDimensionsTransformed());
+
+        SVGLayer metaLayer = rootLayer.getLayerByLabel(LAYER_META);
+
+        data.spawn.set(metaLayer.getRectCenter(LABEL_SPAWN));
+        Vector2[] boundsPoly = metaLayer.getRectAsPoly(LABEL_SCREEN);
+        data.cameraBounds.set(boundsPoly[0].x, boundsPoly[0].y, boundsPoly[2].x - boundsPoly[0].x, boundsPoly[2].y - boundsPoly[0].y);
+
+        List<Body> bodies = new ArrayList<>();
+        boolean success = false;
+        try {
+            SVGLayer physicsLayer = rootLayer.getLayerByLabel(LAYER_PHYSICS);
+            physicsLayer.createPhysicsBodiesRecursive(bodyBuilder -> bodies.add(bodyBuilder.build(world)));
+            for (Body body : bodies) {
+                data.bodies.add(LevelData.BodyData.capture(body));
+            }
+
+            metaLayer.processRectAsPolyByPrefix(PREFIX_KILL, (s, rect, color) -> data.killZones.add(rect));
+            metaLayer.processRectAsPolyByPrefix(PREFIX_WIN, (s, rect, color) -> data.winZones.add(rect));
+            metaLayer.processRectCenterByPrefix(PREFIX_PARTICLE, (type, center, color) ->
+                    data.particles.add(new LevelData.ParticleData(type, center.x, center.y)));
+            metaLayer.processCircleByPrefix(PREFIX_LIGHT, (s, circle, color) ->
+                    data.lights.add(new LevelData.LightData(LevelData.LIGHT_POINT, new Color(color), circle.radius*2f, circle.x, circle.y, 0, 0)));
+            metaLayer.processArcByPrefix(PREFIX_CONELIGHT, (s, arc, color) ->
+                    data.lights.add(new LevelData.LightData(LevelData.LIGHT_CONE, new Color(color), arc.r*7f, arc.x, arc.y,
+                            MathUtils.radDeg * (arc.a2 + arc.a1)/2f, MathUtils.radDeg * Math.abs(arc.a2 - arc.a1)/2f)));
+            success = true;
+        } finally {
+            //on failure nothing refers to the bodies, so they must not stay in the world
+            if (keepBodies && success) {
+                data.prebuiltBodies = bodies;
+            } else {
+                for (Body body : bodies) {
+                    world.box2dWorld.destroyBody(body);
+                }
+            }
+        }
+        return data;
+    }
+}
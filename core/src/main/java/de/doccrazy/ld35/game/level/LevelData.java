@@ -0,0 +1,479 @@
+package de.doccrazy.ld35.game.level;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.*;
+import de.doccrazy.ld35.data.GameRules;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything needed to start a level, already scaled to world units: body shapes, trigger zones, light and
+ * particle markers, camera bounds and the baked lightmap. Produced from SVG by {@link LevelCompiler} and stored
+ * in a compact binary form (*.lvl) that loads without any XML parsing.
+ */
+public class LevelData {
+    static final int MAGIC = 0x4C44334C; //LD3L
+    static final int VERSION = 3;
+
+    public static final int LIGHT_POINT = 0;
+    public static final int LIGHT_CONE = 1;
+
+    private static final int SHAPE_CIRCLE = 0;
+    private static final int SHAPE_POLYGON = 1;
+    private static final int SHAPE_CHAIN = 2;
+    private static final int SHAPE_EDGE = 3;
+
+    String title = "";
+    final Rectangle dimensions = new Rectangle();
+    final Rectangle cameraBounds = new Rectangle();
+    final Vector2 spawn = new Vector2();
+    final List<BodyData> bodies = new ArrayList<>();
+    final List<Vector2[]> killZones = new ArrayList<>();
+    final List<Vector2[]> winZones = new ArrayList<>();
+    final List<LightData> lights = new ArrayList<>();
+    final List<ParticleData> particles = new ArrayList<>();
+    List<Body> prebuiltBodies;
+    Lightmap lightmap;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Rectangle getDimensions() {
+        return dimensions;
+    }
+
+    public Rectangle getCameraBounds() {
+        return cameraBounds;
+    }
+
+    public Vector2 getSpawn() {
+        return spawn;
+    }
+
+    public List<Vector2[]> getKillZones() {
+        return killZones;
+    }
+
+    public List<Vector2[]> getWinZones() {
+        return winZones;
+    }
+
+    public List<LightData> getLights() {
+        return lights;
+    }
+
+    public List<ParticleData> getParticles() {
+        return particles;
+    }
+
+    /**
+     * Static lights baked with the game's ambient light; compiled levels contain it already, otherwise it is baked
+     * on first access
+     */
+    public Lightmap getLightmap() {
+        if (lightmap == null) {
+            lightmap = Lightmap.bake(this, GameRules.AMBIENT_LIGHT);
+        }
+        return lightmap;
+    }
+
+    /**
+     * Creates all level bodies in the given world. If this data was just compiled from SVG into the same world,
+     * the bodies built during compilation are handed over instead (once).
+     */
+    public List<Body> createBodies(World world) {
+        if (prebuiltBodies != null) {
+            List<Body> result = prebuiltBodies;
+            prebuiltBodies = null;
+            return result;
+        }
+        List<Body> result = new ArrayList<>(bodies.size());
+        for (BodyData bodyData : bodies) {
+            result.add(bodyData.create(world));
+        }
+        return result;
+    }
+
+    public static LevelData load(FileHandle file) {
+        if (file.type() != com.badlogic.gdx.Files.FileType.Classpath && file.file().isFile()) {
+            try (RandomAccessFile raf = new RandomAccessFile(file.file(), "r");
+                 FileChannel channel = raf.getChannel()) {
+                return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (IOException e) {
+                throw new RuntimeException("Error mapping level " + file, e);
+            }
+        }
+        //packaged in a jar, cannot be mapped
+        return read(ByteBuffer.wrap(file.readBytes()));
+    }
+
+    /**
+     * @return true if the file is a compiled level in the format this version of the game writes
+     */
+    public static boolean isCurrentVersion(FileHandle file) {
+        try (DataInputStream in = new DataInputStream(file.read())) {
+            return in.readInt() == MAGIC && in.readUnsignedByte() == VERSION;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads only the title from the header of a compiled level
+     */
+    public static String readTitle(FileHandle file) {
+        try (DataInputStream in = new DataInputStream(file.read())) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IllegalArgumentException("Not a compiled level: " + file);
+            }
+            byte[] title = new byte[in.readUnsignedShort()];
+            in.readFully(title);
+            return new String(title, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static LevelData read(ByteBuffer in) {
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a compiled level");
+        }
+        int version = in.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported level version " + version);
+        }
+        LevelData data = new LevelData();
+        byte[] title = new byte[in.getShort() & 0xFFFF];
+        in.get(title);
+        data.title = new String(title, StandardCharsets.UTF_8);
+        data.dimensions.set(in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat());
+        data.cameraBounds.set(in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat());
+        data.spawn.set(in.getFloat(), in.getFloat());
+        for (int i = in.getInt(); i > 0; i--) {
+            data.bodies.add(BodyData.read(in));
+        }
+        readPolys(in, data.killZones);
+        readPolys(in, data.winZones);
+        for (int i = in.getInt(); i > 0; i--) {
+            data.lights.add(new LightData(in.get(), new Color(in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat()),
+                    in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat()));
+        }
+        for (int i = in.getInt(); i > 0; i--) {
+            byte[] type = new byte[in.get() & 0xFF];
+            in.get(type);
+            data.particles.add(new ParticleData(new String(type, StandardCharsets.UTF_8), in.getFloat(), in.getFloat()));
+        }
+        data.lightmap = Lightmap.read(in);
+        return data;
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(titleBytes.length);
+        out.write(titleBytes);
+        writeRect(out, dimensions);
+        writeRect(out, cameraBounds);
+        out.writeFloat(spawn.x);
+        out.writeFloat(spawn.y);
+        out.writeInt(bodies.size());
+        for (BodyData body : bodies) {
+            body.write(out);
+        }
+        writePolys(out, killZones);
+        writePolys(out, winZones);
+        out.writeInt(lights.size());
+        for (LightData light : lights) {
+            out.writeByte(light.type);
+            out.writeFloat(light.color.r);
+            out.writeFloat(light.color.g);
+            out.writeFloat(light.color.b);
+            out.writeFloat(light.color.a);
+            out.writeFloat(light.distance);
+            out.writeFloat(light.x);
+            out.writeFloat(light.y);
+            out.writeFloat(light.direction);
+            out.writeFloat(light.cone);
+        }
+        out.writeInt(particles.size());
+        for (ParticleData particle : particles) {
+            byte[] type = particle.type.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(type.length);
+            out.write(type);
+            out.writeFloat(particle.x);
+            out.writeFloat(particle.y);
+        }
+        getLightmap().write(out);
+        out.flush();
+    }
+
+    public void save(FileHandle file) {
+        try (OutputStream out = file.write(false)) {
+            write(out);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void writeRect(DataOutputStream out, Rectangle rect) throws IOException {
+        out.writeFloat(rect.x);
+        out.writeFloat(rect.y);
+        out.writeFloat(rect.width);
+        out.writeFloat(rect.height);
+    }
+
+    private static void writePolys(DataOutputStream out, List<Vector2[]> polys) throws IOException {
+        out.writeInt(polys.size());
+        for (Vector2[] poly : polys) {
+            writeVertices(out, poly);
+        }
+    }
+
+    private static void readPolys(ByteBuffer in, List<Vector2[]> polys) {
+        for (int i = in.getInt(); i > 0; i--) {
+            polys.add(readVertices(in));
+        }
+    }
+
+    private static void writeVertices(DataOutputStream out, Vector2[] vertices) throws IOException {
+        out.writeShort(vertices.length);
+        for (Vector2 v : vertices) {
+            out.writeFloat(v.x);
+            out.writeFloat(v.y);
+        }
+    }
+
+    private static Vector2[] readVertices(ByteBuffer in) {
+        Vector2[] vertices = new Vector2[in.getShort() & 0xFFFF];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = new Vector2(in.getFloat(), in.getFloat());
+        }
+        return vertices;
+    }
+
+    public static class LightData {
+        public final int type;
+        public final Color color;
+        public final float distance, x, y, direction, cone;
+
+        public LightData(int type, Color color, float distance, float x, float y, float direction, float cone) {
+            this.type = type;
+            this.color = color;
+            this.distance = distance;
+            this.x = x;
+            this.y = y;
+            this.direction = direction;
+            this.cone = cone;
+        }
+    }
+
+    public static class ParticleData {
+        public final String type;
+        public final float x, y;
+
+        public ParticleData(String type, float x, float y) {
+            this.type = type;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    static class BodyData {
+        final BodyDef def = new BodyDef();
+        final List<FixtureData> fixtures = new ArrayList<>();
+
+        static BodyData capture(Body body) {
+            BodyData data = new BodyData();
+            data.def.type = body.getType();
+            data.def.position.set(body.getPosition());
+            data.def.angle = body.getAngle();
+            data.def.fixedRotation = body.isFixedRotation();
+            data.def.bullet = body.isBullet();
+            data.def.gravityScale = body.getGravityScale();
+            data.def.linearDamping = body.getLinearDamping();
+            data.def.angularDamping = body.getAngularDamping();
+            for (Fixture fixture : body.getFixtureList()) {
+                data.fixtures.add(FixtureData.capture(fixture));
+            }
+            return data;
+        }
+
+        Body create(World world) {
+            Body body = world.createBody(def);
+            FixtureDef fixtureDef = new FixtureDef();
+            for (FixtureData fixture : fixtures) {
+                Shape shape = fixture.createShape();
+                fixtureDef.shape = shape;
+                fixtureDef.density = fixture.density;
+                fixtureDef.friction = fixture.friction;
+                fixtureDef.restitution = fixture.restitution;
+                fixtureDef.isSensor = fixture.sensor;
+                fixtureDef.filter.categoryBits = fixture.category;
+                fixtureDef.filter.maskBits = fixture.mask;
+                fixtureDef.filter.groupIndex = fixture.group;
+                body.createFixture(fixtureDef);
+                shape.dispose();
+            }
+            return body;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeByte(def.type.ordinal());
+            out.writeFloat(def.position.x);
+            out.writeFloat(def.position.y);
+            out.writeFloat(def.angle);
+            out.writeByte((def.fixedRotation ? 1 : 0) | (def.bullet ? 2 : 0));
+            out.writeFloat(def.gravityScale);
+            out.writeFloat(def.linearDamping);
+            out.writeFloat(def.angularDamping);
+            out.writeShort(fixtures.size());
+            for (FixtureData fixture : fixtures) {
+                fixture.write(out);
+            }
+        }
+
+        static BodyData read(ByteBuffer in) {
+            BodyData data = new BodyData();
+            data.def.type = BodyDef.BodyType.values()[in.get()];
+            data.def.position.set(in.getFloat(), in.getFloat());
+            data.def.angle = in.getFloat();
+            int flags = in.get();
+            data.def.fixedRotation = (flags & 1) != 0;
+            data.def.bullet = (flags & 2) != 0;
+            data.def.gravityScale = in.getFloat();
+            data.def.linearDamping = in.getFloat();
+            data.def.angularDamping = in.getFloat();
+            for (int i = in.getShort(); i > 0; i--) {
+                data.fixtures.add(FixtureData.read(in));
+            }
+            return data;
+        }
+    }
+
+    static class FixtureData {
+        int shapeType;
+        float radius;
+        Vector2[] vertices;
+        boolean looped;
+        float density, friction, restitution;
+        boolean sensor;
+        short category, mask, group;
+
+        static FixtureData capture(Fixture fixture) {
+            FixtureData data = new FixtureData();
+            Shape shape = fixture.getShape();
+            data.radius = shape.getRadius();
+            switch (shape.getType()) {
+                case Circle:
+                    data.shapeType = SHAPE_CIRCLE;
+                    data.vertices = new Vector2[]{new Vector2(((CircleShape) shape).getPosition())};
+                    break;
+                case Polygon:
+                    PolygonShape poly = (PolygonShape) shape;
+                    data.shapeType = SHAPE_POLYGON;
+                    data.vertices = new Vector2[poly.getVertexCount()];
+                    for (int i = 0; i < data.vertices.length; i++) {
+                        poly.getVertex(i, data.vertices[i] = new Vector2());
+                    }
+                    break;
+                case Chain:
+                    ChainShape chain = (ChainShape) shape;
+                    data.shapeType = SHAPE_CHAIN;
+                    data.looped = chain.isLooped();
+                    //loops hold their closing vertex twice, createLoop adds it again
+                    data.vertices = new Vector2[chain.getVertexCount() - (data.looped ? 1 : 0)];
+                    for (int i = 0; i < data.vertices.length; i++) {
+                        chain.getVertex(i, data.vertices[i] = new Vector2());
+                    }
+                    break;
+                case Edge:
+                    EdgeShape edge = (EdgeShape) shape;
+                    data.shapeType = SHAPE_EDGE;
+                    data.vertices = new Vector2[]{new Vector2(), new Vector2()};
+                    edge.getVertex1(data.vertices[0]);
+                    edge.getVertex2(data.vertices[1]);
+                    break;
+            }
+            data.density = fixture.getDensity();
+            data.friction = fixture.getFriction();
+            data.restitution = fixture.getRestitution();
+            data.sensor = fixture.isSensor();
+            Filter filter = fixture.getFilterData();
+            data.category = filter.categoryBits;
+            data.mask = filter.maskBits;
+            data.group = filter.groupIndex;
+            return data;
+        }
+
+        Shape createShape() {
+            switch (shapeType) {
+                case SHAPE_CIRCLE:
+                    CircleShape circle = new CircleShape();
+                    circle.setRadius(radius);
+                    circle.setPosition(vertices[0]);
+                    return circle;
+                case SHAPE_POLYGON:
+                    PolygonShape poly = new PolygonShape();
+                    poly.set(vertices);
+                    return poly;
+                case SHAPE_CHAIN:
+                    ChainShape chain = new ChainShape();
+                    if (looped) {
+                        chain.createLoop(vertices);
+                    } else {
+                        chain.createChain(vertices);
+                    }
+                    return chain;
+                default:
+                    EdgeShape edge = new EdgeShape();
+                    edge.set(vertices[0], vertices[1]);
+                    return edge;
+            }
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeByte(shapeType);
+            out.writeFloat(radius);
+            writeVertices(out, vertices);
+            out.writeBoolean(looped);
+            out.writeFloat(density);
+            out.writeFloat(friction);
+            out.writeFloat(restitution);
+            out.writeBoolean(sensor);
+            out.writeShort(category);
+            out.writeShort(mask);
+            out.writeShort(group);
+        }
+
+        static FixtureData read(ByteBuffer in) {
+            FixtureData data = new FixtureData();
+            data.shapeType = in.get();
+            data.radius = in.getFloat();
+            data.vertices = readVertices(in);
+            data.looped = in.get() != 0;
+            data.density = in.getFloat();
+            data.friction = in.getFloat();
+            data.restitution = in.getFloat();
+            data.sensor = in.get() != 0;
+            data.category = in.getShort();
+            data.mask = in.getShort();
+            data.group = in.getShort();
+            return data;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package de.doccrazy.ld35.game.level;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+import de.doccrazy.ld35.core.Resource;
+import de.doccrazy.ld35.game.actor.SVGLevelActor;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.ld35.resources.TiledBackground;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Applies level file changes while the game runs: edited levels are dropped from the asset cache, and if the
+ * edited level is currently being played, it is rebuilt in place without restarting the round.
+ */
+public class LevelHotReloader implements Disposable {
+    private final GameWorld world;
+    private LevelWatcher watcher;
+
+    public LevelHotReloader(GameWorld world) {
+        this.world = world;
+        try {
+            watcher = new LevelWatcher(Paths.get(""), Paths.get("levels"));
+        } catch (IOException e) {
+            Gdx.app.error("LevelHotReloader", "File watching not available, level hot-reload disabled", e);
+        }
+    }
+
+    /**
+     * Call once per frame on the render thread
+     */
+    public void update() {
+        if (watcher == null) {
+            return;
+        }
+        for (Path changed : watcher.pollChanged()) {
+            String name = changed.getFileName().toString();
+            boolean background = name.endsWith(".png");
+            FileHandle svgFile = Gdx.files.absolute(changed.resolveSibling(name.substring(0, name.length() - 4) + ".svg").toString());
+            TiledBackground previous = drawnBackground(), dropped = null;
+            if (background) {
+                dropped = Resource.GFX.levels.invalidateBackground(svgFile);
+            } else {
+                Resource.GFX.levels.invalidateLevel(svgFile);
+            }
+            if (world.getLevel() instanceof SVGLevelActor) {
+                SVGLevelActor level = (SVGLevelActor) world.getLevel();
+                if (level.getSourceFile() != null && isSameFile(level.getSourceFile(), svgFile)) {
+                    reload(level, svgFile, background);
+                }
+            }
+            //after a failed reload the level still draws the old background, it goes once a later reload succeeds
+            disposeIfUnused(dropped);
+            if (previous != dropped) {
+                disposeIfUnused(previous);
+            }
+        }
+    }
+
+    private TiledBackground drawnBackground() {
+        return world.getLevel() instanceof SVGLevelActor ? ((SVGLevelActor) world.getLevel()).getBackground() : null;
+    }
+
+    private void disposeIfUnused(TiledBackground background) {
+        if (background != null && background != drawnBackground() && !Resource.GFX.levels.isCached(background)) {
+            background.dispose();
+        }
+    }
+
+    private void reload(SVGLevelActor level, FileHandle svgFile, boolean backgroundOnly) {
+        long start = System.nanoTime();
+        try {
+            if (backgroundOnly) {
+                level.setBackground(Resource.GFX.levels.getBackground(level.getSourceFile()));
+            } else {
+                LevelData data = Resource.GFX.levels.getLevel(level.getSourceFile()).createData(world);
+                level.reload(data, Resource.GFX.levels.getBackground(level.getSourceFile()));
+            }
+            Gdx.app.log("LevelHotReloader", "Reloaded " + svgFile.name() + " in " + (System.nanoTime() - start) / 1000000 + " ms");
+        } catch (RuntimeException e) {
+            //half-saved or broken file, keep playing the old version
+            Gdx.app.error("LevelHotReloader", "Error reloading " + svgFile.name(), e);
+        }
+    }
+
+    private static boolean isSameFile(FileHandle a, FileHandle b) {
+        return a.file().getAbsoluteFile().toPath().normalize().equals(b.file().getAbsoluteFile().toPath().normalize());
+    }
+
+    @Override
+    public void dispose() {
+        if (watcher != null) {
+            watcher.dispose();
+        }
+    }
+}
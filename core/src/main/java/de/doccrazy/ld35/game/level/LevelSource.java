@@ -0,0 +1,123 @@
+package de.doccrazy.ld35.game.level;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.XmlReader;
+import de.doccrazy.ld35.game.actor.SVGLevelActor;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.ld35.resources.TiledBackground;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A playable level: the compiled *.lvl file when one exists and is up to date, the authoring SVG otherwise
+ */
+public class LevelSource {
+    public static final String EXTENSION = ".lvl";
+    private static final Pattern SVG_TITLE = Pattern.compile("<title[^>]*>([^<]*)</title>");
+
+    private final FileHandle svgFile;
+    private final LevelData data;
+    private final XmlReader.Element svg;
+    private Lightmap lightmap;
+
+    private LevelSource(FileHandle svgFile, LevelData data, XmlReader.Element svg) {
+        this.svgFile = svgFile;
+        this.data = data;
+        this.svg = svg;
+    }
+
+    public static LevelSource load(FileHandle svgFile) {
+        FileHandle compiled = findCompiled(svgFile);
+        if (compiled != null) {
+            return new LevelSource(svgFile, LevelData.load(compiled), null);
+        }
+        return loadSvg(svgFile);
+    }
+
+    /**
+     * Loads the level from its SVG, ignoring any compiled version
+     */
+    public static LevelSource loadSvg(FileHandle svgFile) {
+        try {
+            return new LevelSource(svgFile, null, new XmlReader().parse(svgFile));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads just the level title, without loading the level itself
+     */
+    public static String readTitle(FileHandle svgFile) {
+        FileHandle compiled = findCompiled(svgFile);
+        if (compiled != null) {
+            return LevelData.readTitle(compiled);
+        }
+        Matcher matcher = SVG_TITLE.matcher(svgFile.readString("UTF-8"));
+        if (!matcher.find()) {
+            return "";
+        }
+        return matcher.group(1).trim().replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    /**
+     * Looks for the compiled level next to the SVG, then on the classpath (where the build puts it)
+     */
+    public static FileHandle findCompiled(FileHandle svgFile) {
+        String name = svgFile.nameWithoutExtension() + EXTENSION;
+        FileHandle sibling = svgFile.sibling(name);
+        if (isUsable(sibling, svgFile)) {
+            return sibling;
+        }
+        String path = svgFile.path();
+        FileHandle internal = Gdx.files.internal(path.substring(0, path.length() - svgFile.extension().length() - 1) + EXTENSION);
+        return isUsable(internal, svgFile) ? internal : null;
+    }
+
+    private static boolean isUsable(FileHandle compiled, FileHandle svgFile) {
+        if (!compiled.exists()) {
+            return false;
+        }
+        //lastModified is 0 for classpath entries, trust those
+        long compiledTime = compiled.lastModified();
+        return (compiledTime == 0 || compiledTime >= svgFile.lastModified()) && LevelData.isCurrentVersion(compiled);
+    }
+
+    public FileHandle getSvgFile() {
+        return svgFile;
+    }
+
+    public boolean isCompiled() {
+        return data != null;
+    }
+
+    public String getTitle() {
+        return data != null ? data.getTitle() : svg.get("title", "");
+    }
+
+    public SVGLevelActor create(GameWorld world, TiledBackground background) {
+        SVGLevelActor level = new SVGLevelActor(world, createData(world), background);
+        level.setSourceFile(svgFile);
+        return level;
+    }
+
+    /**
+     * Level data for building into the given world; for SVG sources this builds the bodies right away
+     */
+    public LevelData createData(GameWorld world) {
+        if (data != null) {
+            return data;
+        }
+        LevelData compiled = LevelCompiler.compile(world, svg, true);
+        //lights don't change between rounds, so bake only once per source
+        if (lightmap == null && !world.isHeadless()) {
+            lightmap = compiled.getLightmap();
+        }
+        compiled.lightmap = lightmap;
+        return compiled;
+    }
+}
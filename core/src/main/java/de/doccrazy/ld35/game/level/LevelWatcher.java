@@ -0,0 +1,87 @@
+package de.doccrazy.ld35.game.level;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Watches level directories for changed SVG/PNG files on a background thread. Changes are debounced: a file is
+ * reported once it has been quiet for {@link #DEBOUNCE_MS}, so an editor's save burst yields a single change.
+ */
+public class LevelWatcher implements Disposable {
+    public static final long DEBOUNCE_MS = 250;
+
+    private final WatchService watchService;
+    private final Map<Path, Long> pending = new ConcurrentHashMap<>();
+    private final Thread thread;
+
+    public LevelWatcher(Path... dirs) throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path dir : dirs) {
+            if (Files.isDirectory(dir)) {
+                dir.toAbsolutePath().normalize().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+            }
+        }
+        thread = new Thread(this::watch, "level-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        continue;
+                    }
+                    Path file = dir.resolve((Path) event.context());
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(".svg") || name.endsWith(".png")) {
+                        pending.put(file, System.currentTimeMillis());
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            //shutting down
+        }
+    }
+
+    /**
+     * @return files whose changes have settled since the last call, as absolute paths
+     */
+    public List<Path> pollChanged() {
+        if (pending.isEmpty()) {
+            return java.util.Collections.emptyList();
+        }
+        long now = System.currentTimeMillis();
+        List<Path> result = new ArrayList<>();
+        for (Map.Entry<Path, Long> entry : pending.entrySet()) {
+            if (now - entry.getValue() >= DEBOUNCE_MS && pending.remove(entry.getKey(), entry.getValue())) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void dispose() {
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            Gdx.app.error("LevelWatcher", "Error closing watch service", e);
+        }
+    }
+}
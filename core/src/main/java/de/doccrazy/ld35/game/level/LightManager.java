@@ -0,0 +1,97 @@
+package de.doccrazy.ld35.game.level;
+
+import box2dLight.ConeLight;
+import box2dLight.Light;
+import box2dLight.PointLight;
+import box2dLight.RayHandler;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Owns the static lights of a level and keeps only those active whose area of influence intersects the view.
+ * Ray counts can't be changed after a light is created, so every light exists in a full and a low detail variant;
+ * the low detail one is used for small lights and for lights whose center is off screen.
+ */
+public class LightManager {
+    public static final int RAYS = 10;
+    public static final int RAYS_LOW = 5;
+    //lights with a smaller distance are drawn with fewer rays even when on screen
+    private static final float SMALL_DISTANCE = 2f;
+
+    private final List<ManagedLight> lights = new ArrayList<>();
+    private int activeLights;
+
+    public void add(RayHandler rayHandler, LevelData.LightData data) {
+        lights.add(new ManagedLight(data, create(rayHandler, data, RAYS), create(rayHandler, data, RAYS_LOW)));
+    }
+
+    private static Light create(RayHandler rayHandler, LevelData.LightData l, int rays) {
+        Light light = l.type == LevelData.LIGHT_CONE
+                ? new ConeLight(rayHandler, rays, l.color, l.distance, l.x, l.y, l.direction, l.cone)
+                : new PointLight(rayHandler, rays, l.color, l.distance, l.x, l.y);
+        light.setXray(true);
+        light.setActive(false);
+        return light;
+    }
+
+    /**
+     * Activates the variant matching each light's relation to the visible area
+     * @param view visible area in world units, already limited to the level's camera bounds
+     */
+    public void update(Rectangle view) {
+        activeLights = 0;
+        for (int i = 0; i < lights.size(); i++) {
+            ManagedLight light = lights.get(i);
+            boolean visible = circleIntersects(view, light.data.x, light.data.y, light.data.distance);
+            boolean lowDetail = light.data.distance < SMALL_DISTANCE || !view.contains(light.data.x, light.data.y);
+            light.full.setActive(visible && !lowDetail);
+            light.low.setActive(visible && lowDetail);
+            if (visible) {
+                activeLights++;
+            }
+        }
+    }
+
+    private static boolean circleIntersects(Rectangle rect, float x, float y, float radius) {
+        float closestX = MathUtils.clamp(x, rect.x, rect.x + rect.width);
+        float closestY = MathUtils.clamp(y, rect.y, rect.y + rect.height);
+        float dx = x - closestX, dy = y - closestY;
+        return dx * dx + dy * dy <= radius * radius;
+    }
+
+    /**
+     * @return number of lights active after the last update
+     */
+    public int getActiveLights() {
+        return activeLights;
+    }
+
+    public int size() {
+        return lights.size();
+    }
+
+    /**
+     * Removes all lights from the ray handler
+     */
+    public void clear() {
+        for (ManagedLight light : lights) {
+            light.full.remove();
+            light.low.remove();
+        }
+        lights.clear();
+    }
+
+    private static class ManagedLight {
+        final LevelData.LightData data;
+        final Light full, low;
+
+        ManagedLight(LevelData.LightData data, Light full, Light low) {
+            this.data = data;
+            this.full = full;
+            this.low = low;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package de.doccrazy.ld35.game.level;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Static level lights and ambient light pre-rendered into an RGB image covering the level, meant to be multiplied
+ * onto the scene. Lights are xray, so each one is a plain radial (or cone-shaped) gradient with the linear falloff
+ * box2dlights uses.
+ */
+public class Lightmap {
+    public static final int TEXELS_PER_UNIT = 8;
+    private static final int MAX_SIZE = 2048;
+
+    private final int width, height;
+    private final byte[] rgb;
+
+    private Lightmap(int width, int height, byte[] rgb) {
+        this.width = width;
+        this.height = height;
+        this.rgb = rgb;
+    }
+
+    public static Lightmap bake(LevelData data, Color ambient) {
+        Rectangle area = data.getDimensions();
+        if (data.getLights().isEmpty()) {
+            return new Lightmap(1, 1, new byte[]{toByte(ambient.r * ambient.a), toByte(ambient.g * ambient.a), toByte(ambient.b * ambient.a)});
+        }
+        float density = Math.min(TEXELS_PER_UNIT, Math.min(MAX_SIZE / area.width, MAX_SIZE / area.height));
+        int width = Math.max(1, MathUtils.ceil(area.width * density));
+        int height = Math.max(1, MathUtils.ceil(area.height * density));
+        byte[] rgb = new byte[width * height * 3];
+        for (int row = 0; row < height; row++) {
+            //image rows go top down
+            float y = area.y + area.height - (row + 0.5f) * area.height / height;
+            for (int col = 0; col < width; col++) {
+                float x = area.x + (col + 0.5f) * area.width / width;
+                float r = ambient.r * ambient.a, g = ambient.g * ambient.a, b = ambient.b * ambient.a;
+                for (LevelData.LightData light : data.getLights()) {
+                    float intensity = intensity(light, x, y);
+                    if (intensity > 0) {
+                        r += light.color.r * light.color.a * intensity;
+                        g += light.color.g * light.color.a * intensity;
+                        b += light.color.b * light.color.a * intensity;
+                    }
+                }
+                int i = (row * width + col) * 3;
+                rgb[i] = toByte(r);
+                rgb[i + 1] = toByte(g);
+                rgb[i + 2] = toByte(b);
+            }
+        }
+        return new Lightmap(width, height, rgb);
+    }
+
+    private static float intensity(LevelData.LightData light, float x, float y) {
+        float dx = x - light.x, dy = y - light.y;
+        float dist = (float) Math.sqrt(dx * dx + dy * dy);
+        if (dist >= light.distance) {
+            return 0;
+        }
+        if (light.type == LevelData.LIGHT_CONE) {
+            float angle = MathUtils.atan2(dy, dx) * MathUtils.radDeg;
+            float diff = Math.abs(((angle - light.direction) % 360f + 540f) % 360f - 180f);
+            if (diff > light.cone) {
+                return 0;
+            }
+        }
+        return 1f - dist / light.distance;
+    }
+
+    private static byte toByte(float value) {
+        return (byte) MathUtils.clamp(Math.round(value * 255f), 0, 255);
+    }
+
+    public Pixmap toPixmap() {
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGB888);
+        ByteBuffer pixels = pixmap.getPixels();
+        pixels.position(0);
+        pixels.put(rgb);
+        pixels.position(0);
+        return pixmap;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeShort(width);
+        out.writeShort(height);
+        out.write(rgb);
+    }
+
+    static Lightmap read(ByteBuffer in) {
+        int width = in.getShort() & 0xFFFF, height = in.getShort() & 0xFFFF;
+        byte[] rgb = new byte[width * height * 3];
+        in.get(rgb);
+        return new Lightmap(width, height, rgb);
+    }
+}
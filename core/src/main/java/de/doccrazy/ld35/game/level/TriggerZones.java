@@ -0,0 +1,171 @@
+package de.doccrazy.ld35.game.level;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import de.doccrazy.ld35.game.actor.PlayerActor;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.shared.game.world.GameState;
+
+import java.util.List;
+
+/**
+ * Kill and win zones of a level, tested directly against the player circle every step instead of through Box2D
+ * sensors. Zones are bucketed into a static grid, so only the ones near the player are checked. Entering a kill zone
+ * damages the player; staying in a win zone for {@link #WIN_DWELL} seconds wins the round.
+ */
+public class TriggerZones {
+    public static final float WIN_DWELL = 1f;
+    private static final float CELL_SIZE = 4f;
+
+    private final int count, killCount;
+    //vertices of zone i are at offsets[i] .. offsets[i+1] in vertices, as x/y pairs
+    private final float[] vertices;
+    private final int[] offsets;
+    private final Rectangle[] bounds;
+    private final boolean[] inside;
+    private final float[] enterTime;
+    private final int[] mark;
+    private int currentMark;
+    private float time;
+
+    private final Rectangle area = new Rectangle();
+    private final int columns, rows;
+    private final IntArray[] cells;
+
+    public TriggerZones(List<Vector2[]> killZones, List<Vector2[]> winZones) {
+        killCount = killZones.size();
+        count = killCount + winZones.size();
+        offsets = new int[count + 1];
+        bounds = new Rectangle[count];
+        inside = new boolean[count];
+        enterTime = new float[count];
+        mark = new int[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            offsets[i] = size;
+            size += zone(killZones, winZones, i).length * 2;
+        }
+        offsets[count] = size;
+        vertices = new float[size];
+        for (int i = 0; i < count; i++) {
+            Vector2[] poly = zone(killZones, winZones, i);
+            bounds[i] = new Rectangle(poly[0].x, poly[0].y, 0, 0);
+            for (int v = 0; v < poly.length; v++) {
+                vertices[offsets[i] + v * 2] = poly[v].x;
+                vertices[offsets[i] + v * 2 + 1] = poly[v].y;
+                bounds[i].merge(poly[v]);
+            }
+            if (i == 0) {
+                area.set(bounds[i]);
+            } else {
+                area.merge(bounds[i]);
+            }
+        }
+        columns = Math.max(1, MathUtils.ceil(area.width / CELL_SIZE));
+        rows = Math.max(1, MathUtils.ceil(area.height / CELL_SIZE));
+        cells = new IntArray[columns * rows];
+        for (int i = 0; i < count; i++) {
+            Rectangle b = bounds[i];
+            for (int y = row(b.y); y <= row(b.y + b.height); y++) {
+                for (int x = column(b.x); x <= column(b.x + b.width); x++) {
+                    if (cells[y * columns + x] == null) {
+                        cells[y * columns + x] = new IntArray(4);
+                    }
+                    cells[y * columns + x].add(i);
+                }
+            }
+        }
+    }
+
+    private static Vector2[] zone(List<Vector2[]> killZones, List<Vector2[]> winZones, int i) {
+        return i < killZones.size() ? killZones.get(i) : winZones.get(i - killZones.size());
+    }
+
+    /**
+     * Fires begin/end of contact for all zones against the player's current position; call once per step
+     */
+    public void update(GameWorld world, float delta) {
+        time += delta;
+        PlayerActor player = world.getPlayer();
+        if (count == 0 || player == null) {
+            return;
+        }
+        //the actor position is only synced from the body in act, which may run before the step
+        Vector2 position = player.getBody().getPosition();
+        float px = position.x, py = position.y, r = player.getRadius();
+        currentMark++;
+        if (px + r >= area.x && px - r <= area.x + area.width && py + r >= area.y && py - r <= area.y + area.height) {
+            for (int y = row(py - r); y <= row(py + r); y++) {
+                for (int x = column(px - r); x <= column(px + r); x++) {
+                    IntArray cell = cells[y * columns + x];
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int k = 0; k < cell.size; k++) {
+                        int i = cell.get(k);
+                        if (mark[i] != currentMark && overlaps(i, px, py, r)) {
+                            mark[i] = currentMark;
+                            if (!inside[i]) {
+                                inside[i] = true;
+                                begin(world, i);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (inside[i] && mark[i] != currentMark) {
+                inside[i] = false;
+            }
+            if (inside[i] && i >= killCount && time - enterTime[i] > WIN_DWELL) {
+                world.transition(GameState.VICTORY);
+            }
+        }
+    }
+
+    private void begin(GameWorld world, int zone) {
+        if (zone < killCount) {
+            world.getPlayer().damage(1f);
+        } else {
+            enterTime[zone] = time;
+        }
+    }
+
+    /**
+     * Circle vs. polygon: the center lies inside, or an edge is closer than the radius
+     */
+    boolean overlaps(int zone, float cx, float cy, float r) {
+        Rectangle b = bounds[zone];
+        if (cx + r < b.x || cx - r > b.x + b.width || cy + r < b.y || cy - r > b.y + b.height) {
+            return false;
+        }
+        int from = offsets[zone], to = offsets[zone + 1];
+        boolean in = false;
+        float r2 = r * r;
+        for (int i = from, j = to - 2; i < to; j = i, i += 2) {
+            float x1 = vertices[j], y1 = vertices[j + 1], x2 = vertices[i], y2 = vertices[i + 1];
+            if ((y2 > cy) != (y1 > cy) && cx < (x1 - x2) * (cy - y2) / (y1 - y2) + x2) {
+                in = !in;
+            }
+            float ex = x2 - x1, ey = y2 - y1;
+            float lenSq = ex * ex + ey * ey;
+            float t = lenSq > 0 ? MathUtils.clamp(((cx - x1) * ex + (cy - y1) * ey) / lenSq, 0f, 1f) : 0f;
+            float dx = cx - (x1 + t * ex), dy = cy - (y1 + t * ey);
+            if (dx * dx + dy * dy <= r2) {
+                return true;
+            }
+        }
+        return in;
+    }
+
+    private int column(float x) {
+        return MathUtils.clamp((int) ((x - area.x) / CELL_SIZE), 0, columns - 1);
+    }
+
+    private int row(float y) {
+        return MathUtils.clamp((int) ((y - area.y) / CELL_SIZE), 0, rows - 1);
+    }
+}
@@ -0,0 +1,107 @@
+package de.doccrazy.ld35.game.particle;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simulates and draws all particle effects of a world in batches per effect type, instead of one ParticleEffect
+ * object per effect instance. Effects are addressed by int handles returned from {@link #spawn}.
+ */
+public class ParticleSystem {
+    public static final int LAYER_BACK = 0;
+    public static final int LAYER_FRONT = 1;
+    //effects off screen for longer than this only replay this much when they come back
+    private static final float MAX_CATCH_UP = 2f;
+    //handle layout: 8 bits generation, 8 bits type, 16 bits emitter slot
+    private static final int SLOT_BITS = 16, TYPE_BITS = 8;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1, TYPE_MASK = (1 << TYPE_BITS) - 1;
+
+    private final List<ParticleType> types = new ArrayList<>();
+    private final Map<String, Integer> typeIndex = new HashMap<>();
+    //bumped by clear(), so handles of removed actors cannot touch effects spawned afterwards
+    private int generation;
+
+    /**
+     * @param effects effect pools by name, as loaded by the resources; only the first emitter of each effect is used
+     */
+    public ParticleSystem(Map<String, ParticleEffectPool> effects) {
+        for (Map.Entry<String, ParticleEffectPool> entry : effects.entrySet()) {
+            //the template is never freed, so nobody else can modify its values
+            ParticleEffectPool.PooledEffect template = entry.getValue().obtain();
+            typeIndex.put(entry.getKey(), types.size());
+            types.add(new ParticleType(entry.getKey(), template.getEmitters().first()));
+        }
+    }
+
+    /**
+     * Starts a new effect; non-continuous effects are released automatically when they are complete
+     * @return handle for {@link #setPosition} and {@link #stop}
+     */
+    public int spawn(String type, float x, float y, float scale, int layer) {
+        Integer index = typeIndex.get(type);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown particle effect " + type);
+        }
+        return generation << (SLOT_BITS + TYPE_BITS) | index << SLOT_BITS | types.get(index).spawn(x, y, scale, layer);
+    }
+
+    public void setPosition(int handle, float x, float y) {
+        if (isCurrent(handle)) {
+            type(handle).setPosition(handle & SLOT_MASK, x, y);
+        }
+    }
+
+    /**
+     * Lets the effect run out; the handle must not be used afterwards
+     */
+    public void stop(int handle) {
+        ParticleType type = type(handle);
+        if (isCurrent(handle) && type.isUsed(handle & SLOT_MASK)) {
+            type.stop(handle & SLOT_MASK);
+        }
+    }
+
+    public void clear() {
+        generation = (generation + 1) & 0xff;
+        for (int i = 0; i < types.size(); i++) {
+            types.get(i).clear();
+        }
+    }
+
+    /**
+     * Simulates effects within reach of the view; the others are paused and catch up once they come back
+     */
+    public void update(float delta, Rectangle view) {
+        for (int i = 0; i < types.size(); i++) {
+            types.get(i).update(delta, view, MAX_CATCH_UP);
+        }
+    }
+
+    public void draw(Batch batch, int layer) {
+        for (int i = 0; i < types.size(); i++) {
+            types.get(i).draw(batch, layer);
+        }
+    }
+
+    public int getParticleCount() {
+        int count = 0;
+        for (int i = 0; i < types.size(); i++) {
+            count += types.get(i).getCount();
+        }
+        return count;
+    }
+
+    private boolean isCurrent(int handle) {
+        return handle >>> (SLOT_BITS + TYPE_BITS) == generation;
+    }
+
+    private ParticleType type(int handle) {
+        return types.get(handle >>> SLOT_BITS & TYPE_MASK);
+    }
+}
@@ -0,0 +1,402 @@
+package de.doccrazy.ld35.game.particle;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * All emitters and particles of one effect type, stored in parallel primitive arrays. The behaviour follows the
+ * libgdx ParticleEmitter the type was created from (timelines for emission, life, scale, velocity, angle, rotation,
+ * wind, gravity, tint and transparency); delay, life offset and attached/aligned options are not supported.
+ */
+final class ParticleType {
+    private static final float CATCH_UP_STEP = 1f / 30f;
+
+    final String name;
+    private final ParticleEmitter template;
+    private final TextureRegion region;
+    private final float aspect;
+    private final boolean additive, continuous;
+    private final int minCount, maxCount;
+    //how far particles can travel from their emitter at scale 1, for culling
+    private final float reach;
+
+    //emitters, indexed by slot
+    private int emitterSlots;
+    private boolean[] used = new boolean[0], emitting = new boolean[0], visible = new boolean[0];
+    private int[] layer = new int[0], active = new int[0];
+    private float[] ex = new float[0], ey = new float[0], escale = new float[0], time = new float[0], duration = new float[0],
+            emission = new float[0], emissionDiff = new float[0], lifeBase = new float[0], lifeDiff = new float[0],
+            spawnWidth = new float[0], spawnWidthDiff = new float[0], spawnHeight = new float[0], spawnHeightDiff = new float[0],
+            accumulator = new float[0], pending = new float[0];
+
+    //particles, packed at the front of the arrays
+    private int count;
+    private int[] owner = new int[0];
+    private float[] x = new float[0], y = new float[0], life = new float[0], lifeTotal = new float[0],
+            size = new float[0], sizeDiff = new float[0], velocity = new float[0], velocityDiff = new float[0],
+            angle = new float[0], angleDiff = new float[0], rotation = new float[0], rotationDiff = new float[0],
+            wind = new float[0], windDiff = new float[0], gravity = new float[0], gravityDiff = new float[0],
+            alpha = new float[0], alphaDiff = new float[0];
+
+    ParticleType(String name, ParticleEmitter template) {
+        this.name = name;
+        this.template = template;
+        region = template.getSprite();
+        aspect = region.getRegionHeight() / (float) region.getRegionWidth();
+        additive = template.isAdditive();
+        continuous = template.isContinuous();
+        minCount = template.getMinParticleCount();
+        maxCount = template.getMaxParticleCount();
+        float maxLife = Math.max(template.getLife().getHighMin(), template.getLife().getHighMax()) / 1000f;
+        float maxVelocity = template.getVelocity().isActive()
+                ? Math.max(Math.abs(template.getVelocity().getHighMin()), Math.abs(template.getVelocity().getHighMax())) : 0;
+        float maxSize = Math.max(template.getScale().getHighMin(), template.getScale().getHighMax()) * Math.max(1, aspect);
+        reach = maxLife * maxVelocity + maxSize + maxOffset(template.getXOffsetValue()) + maxOffset(template.getYOffsetValue())
+                + Math.max(template.getSpawnWidth().getHighMax(), template.getSpawnHeight().getHighMax());
+    }
+
+    private static float maxOffset(ParticleEmitter.RangedNumericValue value) {
+        return value.isActive() ? Math.max(Math.abs(value.getLowMin()), Math.abs(value.getLowMax())) : 0;
+    }
+
+    int spawn(float x, float y, float scale, int layer) {
+        int slot = 0;
+        while (slot < emitterSlots && used[slot]) {
+            slot++;
+        }
+        if (slot == emitterSlots) {
+            growEmitters(emitterSlots + 1);
+            emitterSlots++;
+        }
+        used[slot] = true;
+        emitting[slot] = true;
+        visible[slot] = true;
+        this.layer[slot] = layer;
+        active[slot] = 0;
+        ex[slot] = x;
+        ey[slot] = y;
+        escale[slot] = scale;
+        accumulator[slot] = 0;
+        pending[slot] = 0;
+        restart(slot);
+        return slot;
+    }
+
+    private void restart(int e) {
+        time[e] = 0;
+        duration[e] = template.getDuration().newLowValue();
+        ParticleEmitter.ScaledNumericValue value = template.getEmission();
+        emission[e] = value.newLowValue();
+        emissionDiff[e] = value.newHighValue() - (value.isRelative() ? 0 : emission[e]);
+        value = template.getLife();
+        lifeBase[e] = value.newLowValue();
+        lifeDiff[e] = value.newHighValue() - (value.isRelative() ? 0 : lifeBase[e]);
+        value = template.getSpawnWidth();
+        spawnWidth[e] = value.newLowValue();
+        spawnWidthDiff[e] = value.newHighValue() - (value.isRelative() ? 0 : spawnWidth[e]);
+        value = template.getSpawnHeight();
+        spawnHeight[e] = value.newLowValue();
+        spawnHeightDiff[e] = value.newHighValue() - (value.isRelative() ? 0 : spawnHeight[e]);
+    }
+
+    void setPosition(int e, float x, float y) {
+        ex[e] = x;
+        ey[e] = y;
+    }
+
+    /**
+     * Stops emitting; the emitter slot is released once its last particle died
+     */
+    void stop(int e) {
+        emitting[e] = false;
+    }
+
+    boolean isUsed(int e) {
+        return e < emitterSlots && used[e];
+    }
+
+    void clear() {
+        Arrays.fill(used, false);
+        emitterSlots = 0;
+        count = 0;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    void update(float delta, Rectangle view, float maxCatchUp) {
+        for (int e = 0; e < emitterSlots; e++) {
+            if (!used[e]) {
+                continue;
+            }
+            float r = reach * escale[e];
+            float closestX = MathUtils.clamp(ex[e], view.x, view.x + view.width);
+            float closestY = MathUtils.clamp(ey[e], view.y, view.y + view.height);
+            float dx = ex[e] - closestX, dy = ey[e] - closestY;
+            visible[e] = dx * dx + dy * dy <= r * r;
+            if (!visible[e]) {
+                pending[e] = Math.min(pending[e] + delta, maxCatchUp);
+                continue;
+            }
+            //replay the time spent off screen in fixed steps, so the result does not depend on the frame rate
+            while (pending[e] > 0) {
+                float step = Math.min(CATCH_UP_STEP, pending[e]);
+                emit(e, step);
+                simulate(step, e);
+                pending[e] -= step;
+            }
+            emit(e, delta);
+        }
+        simulate(delta, -1);
+        for (int e = 0; e < emitterSlots; e++) {
+            if (used[e] && !emitting[e] && active[e] == 0) {
+                used[e] = false;
+            }
+        }
+    }
+
+    private void emit(int e, float delta) {
+        if (!emitting[e]) {
+            return;
+        }
+        float deltaMillis = delta * 1000f;
+        accumulator[e] += deltaMillis;
+        if (active[e] < minCount) {
+            add(e, minCount - active[e]);
+        }
+        time[e] += deltaMillis;
+        if (time[e] >= duration[e]) {
+            if (!continuous) {
+                emitting[e] = false;
+                return;
+            }
+            restart(e);
+        }
+        float percent = duration[e] > 0 ? time[e] / duration[e] : 0;
+        float rate = emission[e] + emissionDiff[e] * template.getEmission().getScale(percent);
+        if (rate > 0) {
+            float interval = 1000f / rate;
+            if (accumulator[e] >= interval) {
+                int n = Math.min((int) (accumulator[e] / interval), maxCount - active[e]);
+                accumulator[e] -= n * interval;
+                accumulator[e] %= interval;
+                add(e, n);
+            }
+        }
+    }
+
+    private void add(int e, int n) {
+        if (n <= 0) {
+            return;
+        }
+        if (count + n > x.length) {
+            growParticles(Math.max(count + n, x.length * 2));
+        }
+        float percent = duration[e] > 0 ? time[e] / duration[e] : 0;
+        float s = escale[e];
+        for (int k = 0; k < n; k++) {
+            int i = count++;
+            owner[i] = e;
+            life[i] = lifeTotal[i] = Math.max(1f, lifeBase[e] + lifeDiff[e] * template.getLife().getScale(percent));
+
+            ParticleEmitter.ScaledNumericValue value = template.getScale();
+            size[i] = value.newLowValue() * s;
+            sizeDiff[i] = value.newHighValue() * s - (value.isRelative() ? 0 : size[i]);
+            value = template.getVelocity();
+            velocity[i] = value.isActive() ? value.newLowValue() * s : 0;
+            velocityDiff[i] = value.isActive() ? value.newHighValue() * s - (value.isRelative() ? 0 : velocity[i]) : 0;
+            value = template.getAngle();
+            angle[i] = value.newLowValue();
+            angleDiff[i] = value.isActive() ? value.newHighValue() - (value.isRelative() ? 0 : angle[i]) : 0;
+            value = template.getRotation();
+            rotation[i] = value.isActive() ? value.newLowValue() : 0;
+            rotationDiff[i] = value.isActive() ? value.newHighValue() - (value.isRelative() ? 0 : rotation[i]) : 0;
+            value = template.getWind();
+            wind[i] = value.isActive() ? value.newLowValue() * s : 0;
+            windDiff[i] = value.isActive() ? value.newHighValue() * s - (value.isRelative() ? 0 : wind[i]) : 0;
+            value = template.getGravity();
+            gravity[i] = value.isActive() ? value.newLowValue() * s : 0;
+            gravityDiff[i] = value.isActive() ? value.newHighValue() * s - (value.isRelative() ? 0 : gravity[i]) : 0;
+            value = template.getTransparency();
+            alpha[i] = value.newLowValue();
+            alphaDiff[i] = value.newHighValue() - alpha[i];
+
+            float px = ex[e], py = ey[e];
+            if (template.getXOffsetValue().isActive()) {
+                px += template.getXOffsetValue().newLowValue() * s;
+            }
+            if (template.getYOffsetValue().isActive()) {
+                py += template.getYOffsetValue().newLowValue() * s;
+            }
+            float w = (spawnWidth[e] + spawnWidthDiff[e] * template.getSpawnWidth().getScale(percent)) * s;
+            float h = (spawnHeight[e] + spawnHeightDiff[e] * template.getSpawnHeight().getScale(percent)) * s;
+            switch (template.getSpawnShape().getShape()) {
+                case square:
+                    px += MathUtils.random(w) - w / 2f;
+                    py += MathUtils.random(h) - h / 2f;
+                    break;
+                case line:
+                    float t = MathUtils.random();
+                    px += w * t - w / 2f;
+                    py += h * t - h / 2f;
+                    break;
+                case ellipse:
+                    float a = MathUtils.random(360f), d = (float) Math.sqrt(MathUtils.random());
+                    px += MathUtils.cosDeg(a) * d * w / 2f;
+                    py += MathUtils.sinDeg(a) * d * h / 2f;
+                    break;
+                default:
+            }
+            x[i] = px;
+            y[i] = py;
+        }
+        active[e] += n;
+    }
+
+    /**
+     * Moves particles and removes dead ones
+     * @param onlyEmitter emitter whose particles to update, or -1 for all visible emitters
+     */
+    private void simulate(float delta, int onlyEmitter) {
+        float deltaMillis = delta * 1000f;
+        boolean velocityActive = template.getVelocity().isActive();
+        ParticleEmitter.ScaledNumericValue velocityValue = template.getVelocity(), angleValue = template.getAngle(),
+                windValue = template.getWind(), gravityValue = template.getGravity();
+        int i = 0;
+        while (i < count) {
+            int e = owner[i];
+            if (onlyEmitter >= 0 ? e != onlyEmitter : !visible[e]) {
+                i++;
+                continue;
+            }
+            life[i] -= deltaMillis;
+            if (life[i] <= 0) {
+                remove(i);
+                continue;
+            }
+            float p = 1f - life[i] / lifeTotal[i];
+            if (velocityActive) {
+                float v = velocity[i] + velocityDiff[i] * velocityValue.getScale(p);
+                float a = angle[i] + angleDiff[i] * angleValue.getScale(p);
+                x[i] += v * MathUtils.cosDeg(a) * delta;
+                y[i] += v * MathUtils.sinDeg(a) * delta;
+            }
+            if (windDiff[i] != 0 || wind[i] != 0) {
+                x[i] += (wind[i] + windDiff[i] * windValue.getScale(p)) * delta;
+            }
+            if (gravityDiff[i] != 0 || gravity[i] != 0) {
+                y[i] += (gravity[i] + gravityDiff[i] * gravityValue.getScale(p)) * delta;
+            }
+            i++;
+        }
+    }
+
+    private void remove(int i) {
+        active[owner[i]]--;
+        int last = --count;
+        if (i == last) {
+            return;
+        }
+        owner[i] = owner[last];
+        x[i] = x[last];
+        y[i] = y[last];
+        life[i] = life[last];
+        lifeTotal[i] = lifeTotal[last];
+        size[i] = size[last];
+        sizeDiff[i] = sizeDiff[last];
+        velocity[i] = velocity[last];
+        velocityDiff[i] = velocityDiff[last];
+        angle[i] = angle[last];
+        angleDiff[i] = angleDiff[last];
+        rotation[i] = rotation[last];
+        rotationDiff[i] = rotationDiff[last];
+        wind[i] = wind[last];
+        windDiff[i] = windDiff[last];
+        gravity[i] = gravity[last];
+        gravityDiff[i] = gravityDiff[last];
+        alpha[i] = alpha[last];
+        alphaDiff[i] = alphaDiff[last];
+    }
+
+    /**
+     * Draws all visible particles of the layer in one pass, switching the blend function once
+     */
+    void draw(Batch batch, int layer) {
+        if (count == 0) {
+            return;
+        }
+        if (additive) {
+            batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+        }
+        ParticleEmitter.ScaledNumericValue scaleValue = template.getScale(), rotationValue = template.getRotation(),
+                transparencyValue = template.getTransparency();
+        for (int i = 0; i < count; i++) {
+            int e = owner[i];
+            if (!visible[e] || this.layer[e] != layer) {
+                continue;
+            }
+            float p = 1f - life[i] / lifeTotal[i];
+            float w = size[i] + sizeDiff[i] * scaleValue.getScale(p), h = w * aspect;
+            float r = rotation[i] + rotationDiff[i] * rotationValue.getScale(p);
+            float[] color = template.getTint().getColor(p);
+            batch.setColor(color[0], color[1], color[2], alpha[i] + alphaDiff[i] * transparencyValue.getScale(p));
+            batch.draw(region, x[i] - w / 2f, y[i] - h / 2f, w / 2f, h / 2f, w, h, 1f, 1f, r);
+        }
+        batch.setColor(1f, 1f, 1f, 1f);
+        if (additive) {
+            batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        }
+    }
+
+    private void growEmitters(int n) {
+        used = Arrays.copyOf(used, n);
+        emitting = Arrays.copyOf(emitting, n);
+        visible = Arrays.copyOf(visible, n);
+        layer = Arrays.copyOf(layer, n);
+        active = Arrays.copyOf(active, n);
+        ex = Arrays.copyOf(ex, n);
+        ey = Arrays.copyOf(ey, n);
+        escale = Arrays.copyOf(escale, n);
+        time = Arrays.copyOf(time, n);
+        duration = Arrays.copyOf(duration, n);
+        emission = Arrays.copyOf(emission, n);
+        emissionDiff = Arrays.copyOf(emissionDiff, n);
+        lifeBase = Arrays.copyOf(lifeBase, n);
+        lifeDiff = Arrays.copyOf(lifeDiff, n);
+        spawnWidth = Arrays.copyOf(spawnWidth, n);
+        spawnWidthDiff = Arrays.copyOf(spawnWidthDiff, n);
+        spawnHeight = Arrays.copyOf(spawnHeight, n);
+        spawnHeightDiff = Arrays.copyOf(spawnHeightDiff, n);
+        accumulator = Arrays.copyOf(accumulator, n);
+        pending = Arrays.copyOf(pending, n);
+    }
+
+    private void growParticles(int n) {
+        owner = Arrays.copyOf(owner, n);
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        life = Arrays.copyOf(life, n);
+        lifeTotal = Arrays.copyOf(lifeTotal, n);
+        size = Arrays.copyOf(size, n);
+        sizeDiff = Arrays.copyOf(sizeDiff, n);
+        velocity = Arrays.copyOf(velocity, n);
+        velocityDiff = Arrays.copyOf(velocityDiff, n);
+        angle = Arrays.copyOf(angle, n);
+        angleDiff = Arrays.copyOf(angleDiff, n);
+        rotation = Arrays.copyOf(rotation, n);
+        rotationDiff = Arrays.copyOf(rotationDiff, n);
+        wind = Arrays.copyOf(wind, n);
+        windDiff = Arrays.copyOf(windDiff, n);
+        gravity = Arrays.copyOf(gravity, n);
+        gravityDiff = Arrays.copyOf(gravityDiff, n);
+        alpha = Arrays.copyOf(alpha, n);
+        alphaDiff = Arrays.copyOf(alphaDiff, n);
+    }
+}
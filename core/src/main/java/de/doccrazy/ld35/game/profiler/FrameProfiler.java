@@ -0,0 +1,212 @@
+package de.doccrazy.ld35.game.profiler;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Measures the time spent in each {@link Phase} of a frame while enabled, keeps a rolling window of the last
+ * {@link #WINDOW} frames for percentiles and optionally streams every frame to a CSV file.
+ * Only to be used from the render thread; does not allocate per frame.
+ */
+public final class FrameProfiler {
+    public static final int WINDOW = 300;
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final long[] current = new long[PHASES.length];
+    private static final float[][] history = new float[PHASES.length][WINDOW];
+    private static final float[] sorted = new float[WINDOW];
+    private static final StringBuilder line = new StringBuilder();
+    private static boolean enabled;
+    private static int samples, head;
+    private static long frameNumber;
+    private static Writer csv;
+
+    private FrameProfiler() {
+    }
+
+    /**
+     * Replaces the root of the stage with one that reports act and draw time of all actors
+     */
+    public static void instrument(Stage stage, Phase actPhase, Phase drawPhase) {
+        instrument(stage, new TimedGroup(actPhase, drawPhase));
+    }
+
+    /**
+     * Replaces the root of the stage with the given one, e.g. a subclass that changes how children are drawn
+     */
+    public static void instrument(Stage stage, TimedGroup root) {
+        Group old = stage.getRoot();
+        root.getListeners().addAll(old.getListeners());
+        root.getCaptureListeners().addAll(old.getCaptureListeners());
+        setRoot(stage, root);
+        while (old.hasChildren()) {
+            root.addActor(old.getChildren().first());
+        }
+    }
+
+    /**
+     * Stage has no setRoot before libGDX 1.9.5, so the final field is replaced directly
+     */
+    private static void setRoot(Stage stage, TimedGroup root) {
+        try {
+            Field field = ClassReflection.getDeclaredField(Stage.class, "root");
+            field.setAccessible(true);
+            field.set(stage, root);
+        } catch (ReflectionException e) {
+            throw new IllegalStateException("Cannot replace stage root", e);
+        }
+        root.attach(stage);
+    }
+
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void stop(Phase phase, long start) {
+        if (enabled && start != 0) {
+            current[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    public static long beginFrame() {
+        Arrays.fill(current, 0);
+        return start();
+    }
+
+    public static void endFrame(long start) {
+        if (!enabled || start == 0) {
+            return;
+        }
+        set(Phase.FRAME, System.nanoTime() - start);
+        //the shared world and renderer step Box2D and draw lights internally, so these are remainders
+        set(Phase.UPDATE_OTHER, get(Phase.WORLD_UPDATE) - get(Phase.ACT));
+        set(Phase.SPRITES, get(Phase.WORLD_DRAW) - get(Phase.LEVEL) - get(Phase.PARTICLES) - get(Phase.DECALS));
+        set(Phase.RENDER_OTHER, get(Phase.FRAME) - get(Phase.WORLD_UPDATE) - get(Phase.WORLD_DRAW) - get(Phase.UI));
+        for (int i = 0; i < PHASES.length; i++) {
+            history[i][head] = current[i] / 1000000f;
+        }
+        head = (head + 1) % WINDOW;
+        samples = Math.min(samples + 1, WINDOW);
+        frameNumber++;
+        if (csv != null) {
+            writeCsvLine();
+        }
+    }
+
+    /**
+     * @param p percentile between 0 and 1
+     * @return frame time of the phase in ms at the given percentile of the rolling window
+     */
+    public static float percentile(Phase phase, float p) {
+        if (samples == 0) {
+            return 0;
+        }
+        System.arraycopy(history[phase.ordinal()], 0, sorted, 0, samples);
+        Arrays.sort(sorted, 0, samples);
+        return sorted[Math.min(samples - 1, (int) (p * samples))];
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        if (!enabled) {
+            stopCsv();
+        }
+        FrameProfiler.enabled = enabled;
+        samples = 0;
+        head = 0;
+    }
+
+    public static boolean isCsvActive() {
+        return csv != null;
+    }
+
+    /**
+     * Streams raw per-frame timings in ms to the file, one line per frame; also enables profiling
+     */
+    public static void startCsv(FileHandle file) {
+        stopCsv();
+        setEnabled(true);
+        csv = new BufferedWriter(file.writer(false, "UTF-8"));
+        line.setLength(0);
+        line.append("frame");
+        for (Phase phase : PHASES) {
+            if (phase.isReported()) {
+                line.append(',').append(phase.getLabel());
+            }
+        }
+        line.append('\n');
+        write();
+        Gdx.app.log("FrameProfiler", "Writing frame timings to " + file.path());
+    }
+
+    public static void stopCsv() {
+        if (csv == null) {
+            return;
+        }
+        try {
+            csv.close();
+        } catch (IOException e) {
+            Gdx.app.error("FrameProfiler", "Error closing CSV", e);
+        }
+        csv = null;
+    }
+
+    private static void writeCsvLine() {
+        line.setLength(0);
+        line.append(frameNumber);
+        for (Phase phase : PHASES) {
+            if (phase.isReported()) {
+                appendMs(line.append(','), current[phase.ordinal()] / 1000000f);
+            }
+        }
+        line.append('\n');
+        write();
+    }
+
+    private static void write() {
+        try {
+            csv.write(line.chars, 0, line.length);
+        } catch (IOException e) {
+            Gdx.app.error("FrameProfiler", "Error writing CSV, stopping", e);
+            stopCsv();
+        }
+    }
+
+    /**
+     * Appends the value with three decimals without going through Float.toString
+     */
+    public static StringBuilder appendMs(StringBuilder sb, float ms) {
+        int micros = Math.round(ms * 1000f);
+        sb.append(micros / 1000).append('.');
+        int fraction = micros % 1000;
+        if (fraction < 100) {
+            sb.append('0');
+        }
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+
+    private static long get(Phase phase) {
+        return current[phase.ordinal()];
+    }
+
+    private static void set(Phase phase, long nanos) {
+        current[phase.ordinal()] = Math.max(0, nanos);
+    }
+}
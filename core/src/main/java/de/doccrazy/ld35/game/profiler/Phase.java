@@ -0,0 +1,43 @@
+package de.doccrazy.ld35.game.profiler;
+
+/**
+ * Frame phases tracked by the {@link FrameProfiler}. Phases that are not reported are only measured to derive others.
+ */
+public enum Phase {
+    /** Whole frame as seen by GameScreen.render */
+    FRAME("frame", true),
+    /** World update without actor act: the Box2D step and whatever else the shared world does per step */
+    UPDATE_OTHER("update other", true),
+    /** GameWorld.doUpdate and act of all world actors */
+    ACT("act", true),
+    /** Level background */
+    LEVEL("level", true),
+    /** Particle effect drawing; simulation is part of act */
+    PARTICLES("particles", true),
+    /** Blood decal tiles, including rendering newly queued splats into them */
+    DECALS("decals", true),
+    /** All other world actor drawing */
+    SPRITES("sprites", true),
+    /** Frame time outside world update, world draw and UI: the RayHandler light pass, camera and screen overhead */
+    RENDER_OTHER("render other", true),
+    /** UI stage act and draw */
+    UI("ui", true),
+    WORLD_UPDATE("world update", false),
+    WORLD_DRAW("world draw", false);
+
+    private final String label;
+    private final boolean reported;
+
+    Phase(String label, boolean reported) {
+        this.label = label;
+        this.reported = reported;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isReported() {
+        return reported;
+    }
+}
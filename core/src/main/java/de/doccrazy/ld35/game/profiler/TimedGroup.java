@@ -0,0 +1,35 @@
+package de.doccrazy.ld35.game.profiler;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+
+/**
+ * Stage root that reports the time spent acting and drawing all its children
+ */
+public class TimedGroup extends Group {
+    private final Phase actPhase, drawPhase;
+
+    public TimedGroup(Phase actPhase, Phase drawPhase) {
+        this.actPhase = actPhase;
+        this.drawPhase = drawPhase;
+    }
+
+    void attach(Stage stage) {
+        setStage(stage);
+    }
+
+    @Override
+    public void act(float delta) {
+        long start = FrameProfiler.start();
+        super.act(delta);
+        FrameProfiler.stop(actPhase, start);
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        long start = FrameProfiler.start();
+        super.draw(batch, parentAlpha);
+        FrameProfiler.stop(drawPhase, start);
+    }
+}
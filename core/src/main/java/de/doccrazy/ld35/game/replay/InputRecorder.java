@@ -0,0 +1,147 @@
+package de.doccrazy.ld35.game.replay;
+
+import com.badlogic.gdx.math.Vector2;
+import de.doccrazy.ld35.game.actor.PlayerActor;
+import de.doccrazy.ld35.game.actor.PlayerController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Wraps the active controller and records movement, jumps, shape and step delta of every world step
+ */
+public class InputRecorder implements PlayerController {
+    private final PlayerController source;
+    private final String level;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+
+    private final Frame current = new Frame(), pending = new Frame(), written = new Frame();
+    private boolean inFrame, hasPending;
+    private int run, steps;
+    private float firstDelta;
+
+    public InputRecorder(PlayerController source, String level) {
+        this.source = source;
+        this.level = level;
+    }
+
+    @Override
+    public void beforeStep(PlayerActor player, float delta) {
+        source.beforeStep(player, delta);
+        endFrame();
+        if (steps == 0) {
+            firstDelta = delta;
+        }
+        inFrame = true;
+        current.delta = delta;
+        current.shape = player.getShapeState();
+        current.jump = false;
+    }
+
+    @Override
+    public Vector2 getMovement() {
+        Vector2 mv = source.getMovement();
+        current.mx = mv.x;
+        current.my = mv.y;
+        return mv;
+    }
+
+    @Override
+    public boolean pollJump() {
+        boolean jump = source.pollJump();
+        current.jump |= jump;
+        return jump;
+    }
+
+    public PlayerController getSource() {
+        return source;
+    }
+
+    /**
+     * Ends recording and returns everything recorded so far
+     */
+    public InputRecording finish() {
+        endFrame();
+        if (hasPending) {
+            writeRecord();
+            hasPending = false;
+        }
+        return new InputRecording(level, firstDelta, steps, buffer.toByteArray());
+    }
+
+    private void endFrame() {
+        if (!inFrame) {
+            return;
+        }
+        inFrame = false;
+        steps++;
+        if (hasPending && pending.equals(current)) {
+            run++;
+            return;
+        }
+        if (hasPending) {
+            writeRecord();
+        }
+        pending.set(current);
+        hasPending = true;
+        run = 1;
+    }
+
+    private void writeRecord() {
+        try {
+            int mask = 0;
+            if (pending.mx != written.mx || pending.my != written.my) {
+                mask |= InputRecording.MASK_MOVEMENT;
+            }
+            if (pending.jump) {
+                mask |= InputRecording.MASK_JUMP;
+            }
+            if (pending.shape != written.shape) {
+                mask |= InputRecording.MASK_SHAPE;
+            }
+            if (pending.delta != written.delta) {
+                mask |= InputRecording.MASK_DELTA;
+            }
+            out.writeByte(mask);
+            if ((mask & InputRecording.MASK_MOVEMENT) != 0) {
+                out.writeFloat(pending.mx);
+                out.writeFloat(pending.my);
+            }
+            if ((mask & InputRecording.MASK_SHAPE) != 0) {
+                out.writeByte(pending.shape);
+            }
+            if ((mask & InputRecording.MASK_DELTA) != 0) {
+                out.writeFloat(pending.delta);
+            }
+            int value = run;
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+            written.set(pending);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static class Frame {
+        float mx, my, delta;
+        boolean jump;
+        int shape;
+
+        void set(Frame other) {
+            mx = other.mx;
+            my = other.my;
+            delta = other.delta;
+            jump = other.jump;
+            shape = other.shape;
+        }
+
+        boolean equals(Frame other) {
+            return mx == other.mx && my == other.my && delta == other.delta && jump == other.jump && shape == other.shape;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package de.doccrazy.ld35.game.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Player input of one round, one frame per world step, run-length encoded.
+ * <p>
+ * Each record is a change mask, the changed values and a varint repeat count. Unchanged frames cost nothing,
+ * so keyboard play at a fixed step takes a few bytes per second.
+ */
+public class InputRecording {
+    static final int MAGIC = 0x4C443352; //LD3R
+    static final int VERSION = 1;
+
+    static final int MASK_MOVEMENT = 0x01;
+    static final int MASK_JUMP = 0x02;
+    static final int MASK_SHAPE = 0x04;
+    static final int MASK_DELTA = 0x08;
+
+    private final String level;
+    private final float delta;
+    private final int steps;
+    private final byte[] frames;
+
+    InputRecording(String level, float delta, int steps, byte[] frames) {
+        this.level = level;
+        this.delta = delta;
+        this.steps = steps;
+        this.frames = frames;
+    }
+
+    /**
+     * Title of the level that was played
+     */
+    public String getLevel() {
+        return level;
+    }
+
+    /**
+     * Step delta of the first recorded frame, used for steps before input starts
+     */
+    public float getDelta() {
+        return delta;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    byte[] getFrames() {
+        return frames;
+    }
+
+    public int getSizeBytes() {
+        return frames.length;
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeUTF(level);
+        out.writeFloat(delta);
+        out.writeInt(steps);
+        out.writeInt(frames.length);
+        out.write(frames);
+        out.flush();
+    }
+
+    public static InputRecording read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an input recording");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported recording version " + version);
+        }
+        String level = in.readUTF();
+        float delta = in.readFloat();
+        int steps = in.readInt();
+        byte[] frames = new byte[in.readInt()];
+        in.readFully(frames);
+        return new InputRecording(level, delta, steps, frames);
+    }
+
+    public void save(FileHandle file) {
+        try (OutputStream out = file.write(false)) {
+            write(out);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static InputRecording load(FileHandle file) {
+        try (InputStream in = file.read()) {
+            return read(in);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package de.doccrazy.ld35.game.replay;
+
+import com.badlogic.gdx.math.Vector2;
+import de.doccrazy.ld35.game.actor.PlayerActor;
+import de.doccrazy.ld35.game.actor.PlayerController;
+
+/**
+ * Feeds a recorded round back into the player, one frame per world step. Once the recording is exhausted the
+ * player stops moving.
+ */
+public class ReplayController implements PlayerController {
+    private final InputRecording recording;
+    private final byte[] data;
+    private final Vector2 movement = new Vector2();
+    private int pos, runLeft, shape;
+    private boolean jump, jumpAvailable;
+    private float delta;
+
+    public ReplayController(InputRecording recording) {
+        this.recording = recording;
+        this.data = recording.getFrames();
+        this.delta = recording.getDelta();
+    }
+
+    @Override
+    public void beforeStep(PlayerActor player, float delta) {
+        if (runLeft == 0 && !readRecord()) {
+            movement.setZero();
+            jumpAvailable = false;
+            return;
+        }
+        runLeft--;
+        jumpAvailable = jump;
+        if (player.getShapeState() != shape) {
+            player.setShapeState(shape);
+        }
+    }
+
+    /**
+     * Delta the next step was recorded with; drive the world with this for an exact replay
+     */
+    public float peekDelta() {
+        if (runLeft == 0 && pos < data.length && (data[pos] & InputRecording.MASK_DELTA) != 0) {
+            int offset = pos + 1;
+            if ((data[pos] & InputRecording.MASK_MOVEMENT) != 0) {
+                offset += 8;
+            }
+            if ((data[pos] & InputRecording.MASK_SHAPE) != 0) {
+                offset++;
+            }
+            return Float.intBitsToFloat(readInt(offset));
+        }
+        return delta;
+    }
+
+    public boolean isFinished() {
+        return runLeft == 0 && pos >= data.length;
+    }
+
+    public InputRecording getRecording() {
+        return recording;
+    }
+
+    @Override
+    public Vector2 getMovement() {
+        return movement;
+    }
+
+    @Override
+    public boolean pollJump() {
+        boolean result = jumpAvailable;
+        jumpAvailable = false;
+        return result;
+    }
+
+    private boolean readRecord() {
+        if (pos >= data.length) {
+            return false;
+        }
+        int mask = data[pos++];
+        if ((mask & InputRecording.MASK_MOVEMENT) != 0) {
+            movement.set(Float.intBitsToFloat(readInt(pos)), Float.intBitsToFloat(readInt(pos + 4)));
+            pos += 8;
+        }
+        jump = (mask & InputRecording.MASK_JUMP) != 0;
+        if ((mask & InputRecording.MASK_SHAPE) != 0) {
+            shape = data[pos++];
+        }
+        if ((mask & InputRecording.MASK_DELTA) != 0) {
+            delta = Float.intBitsToFloat(readInt(pos));
+            pos += 4;
+        }
+        int run = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = data[pos++];
+            run |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        runLeft = run;
+        return true;
+    }
+
+    private int readInt(int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+}
@@ -1,39 +1,54 @@
 package de.doccrazy.ld35.game.ui;
 
-import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Pool;
 import de.doccrazy.ld35.core.Resource;
 import de.doccrazy.ld35.game.world.FloatingTextEvent;
 
-public class FloatingTextLabel extends Label {
+/**
+ * Rising, fading text; instances come from a {@link Pool} and return to it when done. Styles are shared from
+ * FontResources, and the label's glyph layout is reused between shows.
+ */
+public class FloatingTextLabel extends Label implements Pool.Poolable {
     public static final float DURATION = 1.5f;
+    private static final Vector2 tmp = new Vector2();
+
+    private final Pool<FloatingTextLabel> pool;
     private float stateTime = 0f;
     private int direction;
 
-    public FloatingTextLabel(Stage stage, String text, Vector2 pos, int direction) {
-        super(text, new LabelStyle(new BitmapFont(), new Color(1f, 0.7f, 0f, 0.75f)));
-        this.direction = direction;
-        stage.addActor(this);
+    public FloatingTextLabel(Pool<FloatingTextLabel> pool) {
+        super("", Resource.FONT.floatingText);
+        this.pool = pool;
         setAlignment(Align.center);
-        setPosition(pos.x, pos.y);
     }
 
-    public FloatingTextLabel(UiRoot uiRoot, FloatingTextEvent event) {
-        this(uiRoot.getStage(), event.getText(), new Vector2(), 1);
-        Vector2 pos = uiRoot.getWorld().stage.stageToScreenCoordinates(new Vector2(event.getX(), event.getY()));
-        pos = getStage().screenToStageCoordinates(pos);
-        setPosition(pos.x, pos.y);
-        if (event.isImportant()) {
-            setStyle(new LabelStyle(Resource.FONT.retro, new Color(1, 1, 1, 0.75f)));
-        } else if (event.isNegative()) {
-            setStyle(new LabelStyle(Resource.FONT.retro, new Color(1, 0.3f, 0.3f, 0.75f)));
+    public void show(Stage stage, CharSequence text, float x, float y, int direction, LabelStyle style) {
+        this.direction = direction;
+        if (getStyle() != style) {
+            setStyle(style);
         }
+        setText(text);
+        //only the constructor sizes a label to its text, a reused one keeps the size of its previous text
+        setSize(getPrefWidth(), getPrefHeight());
+        setPosition(x, y);
+        stage.addActor(this);
+    }
+
+    /**
+     * Shows the event's text at its world position
+     */
+    public void show(UiRoot uiRoot, FloatingTextEvent event) {
+        Vector2 pos = uiRoot.getWorld().stage.stageToScreenCoordinates(tmp.set(event.getX(), event.getY()));
+        pos = uiRoot.getStage().screenToStageCoordinates(pos);
+        LabelStyle style = event.isImportant() ? Resource.FONT.floatingTextImportant
+                : event.isNegative() ? Resource.FONT.floatingTextNegative : Resource.FONT.floatingText;
+        show(uiRoot.getStage(), event.getText(), pos.x, pos.y, 1, style);
     }
 
     @Override
@@ -44,6 +59,14 @@ public class FloatingTextLabel extends Label {
         setColor(1, 1, 1, Interpolation.exp10Out.apply(MathUtils.clamp((DURATION - stateTime)/ DURATION, 0, 1)));
         if (stateTime > DURATION) {
             remove();
+            pool.free(this);
         }
     }
+
+    @Override
+    public void reset() {
+        stateTime = 0f;
+        clearActions();
+        setColor(1, 1, 1, 1);
+    }
 }
@@ -0,0 +1,57 @@
+package de.doccrazy.ld35.game.ui;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.StringBuilder;
+import de.doccrazy.ld35.core.Resource;
+import de.doccrazy.ld35.game.profiler.FrameProfiler;
+import de.doccrazy.ld35.game.profiler.Phase;
+
+/**
+ * Debug overlay listing p50/p95/p99/max per frame phase over the profiler's rolling window
+ */
+public class FrameTimingLabel extends Label {
+	private static final float REFRESH_INTERVAL = 0.5f;
+	private static final float[] PERCENTILES = {0.5f, 0.95f, 0.99f, 1f};
+
+	private final StringBuilder timings = new StringBuilder();
+	private float sinceRefresh = REFRESH_INTERVAL;
+
+	public FrameTimingLabel() {
+		super("", new LabelStyle(Resource.FONT.retroSmall, new Color(1f, 1f, 0.6f, 0.9f)));
+	}
+
+	@Override
+	public void act(float delta) {
+		super.act(delta);
+		setVisible(FrameProfiler.isEnabled());
+		if (!isVisible()) {
+			return;
+		}
+		sinceRefresh += delta;
+		if (sinceRefresh >= REFRESH_INTERVAL) {
+			sinceRefresh = 0;
+			refresh();
+		}
+		setPosition(10, getStage().getHeight() - getPrefHeight() - 10);
+		setSize(getPrefWidth(), getPrefHeight());
+	}
+
+	private void refresh() {
+		timings.setLength(0);
+		timings.append(FrameProfiler.isCsvActive() ? "ms p50/p95/p99/max (CSV)" : "ms p50/p95/p99/max");
+		for (Phase phase : Phase.values()) {
+			if (!phase.isReported()) {
+				continue;
+			}
+			timings.append('\n').append(phase.getLabel()).append(": ");
+			for (int i = 0; i < PERCENTILES.length; i++) {
+				if (i > 0) {
+					timings.append(" / ");
+				}
+				FrameProfiler.appendMs(timings, FrameProfiler.percentile(phase, PERCENTILES[i]));
+			}
+		}
+		setText(timings);
+	}
+}
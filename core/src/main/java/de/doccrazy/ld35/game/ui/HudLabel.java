@@ -0,0 +1,59 @@
+package de.doccrazy.ld35.game.ui;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.StringBuilder;
+import de.doccrazy.ld35.core.Resource;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.shared.game.world.GameState;
+
+/**
+ * HUD text bound to game values. Subclasses compare the values they show in {@link #changed()} and write them into
+ * a reused buffer in {@link #format}; the text is only rebuilt and laid out again when something changed.
+ */
+public abstract class HudLabel extends Label {
+	protected final GameWorld world;
+	private final StringBuilder buffer = new StringBuilder();
+	private boolean dirty = true;
+
+	public HudLabel(GameWorld world) {
+		super("", new LabelStyle(Resource.FONT.retroSmall, new Color(1f, 1f, 1f, 0.7f)));
+		this.world = world;
+		setAlignment(Align.right);
+	}
+
+	/**
+	 * Reads the bound values and remembers them
+	 * @return true if any of them differs from what is shown
+	 */
+	protected abstract boolean changed();
+
+	protected abstract void format(StringBuilder out);
+
+	public boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * Forces a rebuild on the next act, e.g. after a language or format change
+	 */
+	public void markDirty() {
+		dirty = true;
+	}
+
+	@Override
+	public void act(float delta) {
+		super.act(delta);
+		setVisible(world.getGameState() == GameState.GAME || world.isGameFinished());
+		if (changed()) {
+			dirty = true;
+		}
+		if (dirty) {
+			buffer.setLength(0);
+			format(buffer);
+			setText(buffer);
+			dirty = false;
+		}
+	}
+}
@@ -1,28 +1,30 @@
 package de.doccrazy.ld35.game.ui;
 
-import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.utils.Align;
-import de.doccrazy.ld35.core.Resource;
+import com.badlogic.gdx.utils.StringBuilder;
 import de.doccrazy.ld35.game.world.GameWorld;
-import de.doccrazy.shared.game.world.GameState;
 
-public class ScoreLabel extends Label {
-	private GameWorld world;
+public class ScoreLabel extends HudLabel {
+	private int shownScore = -1, shownGoal = -1;
 
 	public ScoreLabel(GameWorld world) {
-		super("", new LabelStyle(Resource.FONT.retroSmall, new Color(1f, 1f, 1f, 0.7f)));
-		this.world = world;
-
-		setAlignment(Align.right);
+		super(world);
 	}
 
 	@Override
-	public void act(float delta) {
-		super.act(delta);
-		setVisible(world.getGameState() == GameState.GAME || world.isGameFinished());
+	protected boolean changed() {
+		int score = world.getScore();
+		int goal = world.getLevel() == null ? 0 : world.getLevel().getScoreGoal();
+		if (score == shownScore && goal == shownGoal) {
+			return false;
+		}
+		shownScore = score;
+		shownGoal = goal;
+		return true;
+	}
 
-		setText("Score: " + world.getScore() + " / " + world.getLevel().getScoreGoal());
+	@Override
+	protected void format(StringBuilder out) {
+		out.append("Score: ").append(shownScore).append(" / ").append(shownGoal);
 	}
 
 }
@@ -1,24 +1,20 @@
 package de.doccrazy.ld35.game.ui;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.NinePatchDrawable;
-import com.badlogic.gdx.utils.XmlReader;
 import de.doccrazy.ld35.core.Resource;
 import de.doccrazy.ld35.game.actor.Level;
-import de.doccrazy.ld35.game.actor.SVGLevelActor;
+import de.doccrazy.ld35.game.level.LevelSource;
 import de.doccrazy.ld35.game.world.GameWorld;
 import de.doccrazy.shared.game.world.GameState;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.function.Function;
@@ -36,43 +32,51 @@ public class SelectLevelScreen extends Table {
         style.fontColor = Color.WHITE;
         style.overFontColor = Color.BLUE;
 
-        createLevelButton(style, Resource.GFX.level1, Resource.GFX.level1Tex);
-        createLevelButton(style, Resource.GFX.level2, Resource.GFX.level2Tex);
-        try {
-            Path levelsPath = Paths.get("").resolve("levels");
-            if (Files.isDirectory(levelsPath)) {
-                PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:**/*.svg");
-                Files.list(levelsPath).filter(matcher::matches).forEach(path -> {
-                    try {
-                        XmlReader.Element xml = new XmlReader().parse(new FileInputStream(path.toFile()));
+        Thread scanner = new Thread(() -> scanLevels(style), "level-scanner");
+        scanner.setDaemon(true);
+        scanner.start();
+    }
 
-                        Path pngPath = path.resolveSibling(path.getFileName().toString().substring(0, path.getFileName().toString().length()-4) + ".png");
-                        TextureRegion tex = new TextureRegion(textureFilter(pngPath));
-                        createLevelButton(style, xml, tex);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                });
+    /**
+     * Runs in the background: finds all levels and reads their titles, adding a button on the render thread
+     * as soon as each one is known
+     */
+    private void scanLevels(TextButton.TextButtonStyle style) {
+        for (FileHandle level : Resource.GFX.bundledLevels) {
+            addLevel(style, level);
+        }
+        Path levelsPath = Paths.get("").resolve("levels");
+        if (!Files.isDirectory(levelsPath)) {
+            return;
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:**/*.svg");
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(levelsPath)) {
+            for (Path path : paths) {
+                if (matcher.matches(path)) {
+                    addLevel(style, Gdx.files.local(path.toString()));
+                }
             }
         } catch (IOException e) {
-            throw new RuntimeException();
+            Gdx.app.error("SelectLevelScreen", "Error listing levels", e);
         }
     }
 
-
-    protected Texture textureFilter(Path filename) {
-        Texture tex = new Texture(Gdx.files.absolute(filename.toAbsolutePath().toString()));
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        return tex;
+    private void addLevel(TextButton.TextButtonStyle style, FileHandle level) {
+        try {
+            String title = LevelSource.readTitle(level);
+            Gdx.app.postRunnable(() -> createLevelButton(style, level, title));
+        } catch (RuntimeException e) {
+            Gdx.app.error("SelectLevelScreen", "Skipping unreadable level " + level.path(), e);
+        }
     }
 
-    private void createLevelButton(TextButton.TextButtonStyle style, XmlReader.Element xml, TextureRegion tex) {
+    private void createLevelButton(TextButton.TextButtonStyle style, FileHandle level, String title) {
         row();
-        TextButton button = new TextButton(xml.get("title"), style);
+        TextButton button = new TextButton(title, style);
         button.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                uiRoot.getWorld().setLevel(w -> new SVGLevelActor(w, xml, tex));
+                uiRoot.getWorld().setLevel(w -> Resource.GFX.levels.getLevel(level).create(w, Resource.GFX.levels.getBackground(level)));
             }
         });
         add(button).pad(10);
@@ -1,28 +1,28 @@
 package de.doccrazy.ld35.game.ui;
 
-import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.utils.Align;
-import de.doccrazy.ld35.core.Resource;
+import com.badlogic.gdx.utils.StringBuilder;
 import de.doccrazy.ld35.game.world.GameWorld;
-import de.doccrazy.shared.game.world.GameState;
 
-public class TimerLabel extends Label {
-	private GameWorld world;
+public class TimerLabel extends HudLabel {
+	private int shownTime = -1;
 
 	public TimerLabel(GameWorld world) {
-		super("", new LabelStyle(Resource.FONT.retroSmall, new Color(1f, 1f, 1f, 0.7f)));
-		this.world = world;
-
-		setAlignment(Align.right);
+		super(world);
 	}
 
 	@Override
-	public void act(float delta) {
-		super.act(delta);
-        setVisible(world.getGameState() == GameState.GAME || world.isGameFinished());
+	protected boolean changed() {
+		int time = (int)(world.getRemainingTime());
+		if (time == shownTime) {
+			return false;
+		}
+		shownTime = time;
+		return true;
+	}
 
-		setText("Time: " + (int)(world.getRemainingTime()));
+	@Override
+	protected void format(StringBuilder out) {
+		out.append("Time: ").append(shownTime);
 	}
 
 }
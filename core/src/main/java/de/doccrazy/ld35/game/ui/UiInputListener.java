@@ -1,8 +1,10 @@
 package de.doccrazy.ld35.game.ui;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
+import de.doccrazy.ld35.game.profiler.FrameProfiler;
 import de.doccrazy.shared.core.Debug;
 import de.doccrazy.shared.game.world.GameState;
 
@@ -17,6 +19,14 @@ public class UiInputListener extends InputListener {
     public boolean keyDown(InputEvent event, int keycode) {
 		if (keycode == Keys.F12) {
             root.getRenderer().setRenderBox2dDebug(!root.getRenderer().isRenderBox2dDebug());
+        } else if (keycode == Keys.F11) {
+			FrameProfiler.setEnabled(!FrameProfiler.isEnabled());
+		} else if (keycode == Keys.F10) {
+			if (FrameProfiler.isCsvActive()) {
+				FrameProfiler.stopCsv();
+			} else {
+				FrameProfiler.startCsv(Gdx.files.local("profile/frames-" + System.currentTimeMillis() + ".csv"));
+			}
         } else if (keycode == Keys.ENTER) {
 			root.getWorld().resetAll();
 		} else if (keycode == Keys.ESCAPE) {
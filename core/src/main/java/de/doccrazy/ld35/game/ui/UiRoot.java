@@ -2,15 +2,27 @@ package de.doccrazy.ld35.game.ui;
 
 import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Pool;
 
 import de.doccrazy.ld35.game.GameRenderer;
+import de.doccrazy.ld35.game.profiler.FrameProfiler;
+import de.doccrazy.ld35.game.profiler.Phase;
 import de.doccrazy.ld35.game.world.FloatingTextEvent;
 import de.doccrazy.ld35.game.world.GameInputListener;
 import de.doccrazy.ld35.game.world.GameWorld;
 import de.doccrazy.shared.game.ui.UiBase;
 
+import java.util.function.Consumer;
+
 public class UiRoot extends UiBase<GameWorld, GameRenderer, GameInputListener> {
     //private Toolbar toolbar;
+    private final Pool<FloatingTextLabel> floatingTextPool = new Pool<FloatingTextLabel>() {
+        @Override
+        protected FloatingTextLabel newObject() {
+            return new FloatingTextLabel(this);
+        }
+    };
+    private final Consumer<FloatingTextEvent> onFloatingText = event -> floatingTextPool.obtain().show(this, event);
 
 	public UiRoot(Stage stage, GameWorld world, GameRenderer renderer) {
 		super(stage, world, renderer);
@@ -26,6 +38,8 @@ public class UiRoot extends UiBase<GameWorld, GameRenderer, GameInputListener> {
         stage.addActor(new NextLevelScreen(this));
         stage.addActor(new DefeatScreen(this));
 		stage.addActor(new SelectLevelScreen(this));
+		stage.addActor(new FrameTimingLabel());
+		FrameProfiler.instrument(stage, Phase.UI, Phase.UI);
 
         /*getStage().addActor(new DeathLabel(getWorld()));
         getStage().addActor(new DeathLabel2(getWorld()));*/
@@ -34,7 +48,7 @@ public class UiRoot extends UiBase<GameWorld, GameRenderer, GameInputListener> {
 	@Override
 	public void act(float delta) {
 		super.act(delta);
-		getWorld().pollEvents(FloatingTextEvent.class, event -> new FloatingTextLabel(this, event));
+		getWorld().getFloatingTexts().poll(onFloatingText);
 	}
 
 	@Override
@@ -0,0 +1,36 @@
+package de.doccrazy.ld35.game.world;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.SnapshotArray;
+import de.doccrazy.ld35.game.profiler.Phase;
+import de.doccrazy.ld35.game.profiler.TimedGroup;
+
+/**
+ * World stage root that skips drawing actors the {@link SpatialIndex} culled, leaving their visible flag to the game
+ */
+class CullingRoot extends TimedGroup {
+    private final SpatialIndex index;
+
+    CullingRoot(SpatialIndex index) {
+        super(Phase.ACT, Phase.WORLD_DRAW);
+        this.index = index;
+    }
+
+    /**
+     * Same as the transform case of Group.drawChildren, which applies as this group keeps the default transform
+     */
+    @Override
+    protected void drawChildren(Batch batch, float parentAlpha) {
+        parentAlpha *= getColor().a;
+        SnapshotArray<Actor> children = getChildren();
+        Actor[] actors = children.begin();
+        for (int i = 0, n = children.size; i < n; i++) {
+            Actor child = actors[i];
+            if (child.isVisible() && !index.isCulled(child)) {
+                child.draw(batch, parentAlpha);
+            }
+        }
+        children.end();
+    }
+}
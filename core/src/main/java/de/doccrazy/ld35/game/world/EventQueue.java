@@ -0,0 +1,78 @@
+package de.doccrazy.ld35.game.world;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Ring buffer of events of a single type. Event objects live in the buffer slots and are reused, so after the
+ * buffer has grown to the largest burst, posting and polling do not allocate. Consumers must copy what they need,
+ * as the event is overwritten by later posts.
+ */
+public class EventQueue<T> {
+    private final Supplier<T> factory;
+    private Object[] items;
+    private int head, size;
+
+    public EventQueue(Supplier<T> factory) {
+        this(factory, 16);
+    }
+
+    /**
+     * @param capacity initial capacity, rounded up to a power of two
+     */
+    public EventQueue(Supplier<T> factory, int capacity) {
+        this.factory = factory;
+        int n = 1;
+        while (n < capacity) {
+            n <<= 1;
+        }
+        items = new Object[n];
+    }
+
+    /**
+     * Appends an event and returns it for the caller to fill in
+     */
+    @SuppressWarnings("unchecked")
+    public T post() {
+        if (size == items.length) {
+            grow();
+        }
+        int index = (head + size) & (items.length - 1);
+        if (items[index] == null) {
+            items[index] = factory.get();
+        }
+        size++;
+        return (T) items[index];
+    }
+
+    /**
+     * Hands all queued events to the consumer in posting order; events posted meanwhile wait for the next poll
+     */
+    @SuppressWarnings("unchecked")
+    public void poll(Consumer<? super T> consumer) {
+        for (int n = size; n > 0; n--) {
+            T event = (T) items[head];
+            head = (head + 1) & (items.length - 1);
+            size--;
+            consumer.accept(event);
+        }
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        Object[] grown = new Object[items.length * 2];
+        for (int i = 0; i < items.length; i++) {
+            grown[i] = items[(head + i) & (items.length - 1)];
+        }
+        items = grown;
+        head = 0;
+    }
+}
@@ -1,17 +1,29 @@
 package de.doccrazy.ld35.game.world;
 
-import de.doccrazy.shared.game.event.Event;
+/**
+ * Posted through {@link GameWorld#getFloatingTexts()}; instances are reused by the queue
+ */
+public class FloatingTextEvent {
+    private float x, y;
+    private String text;
+    private boolean important;
+    private boolean negative;
 
-public class FloatingTextEvent extends Event {
-    private final String text;
-    private final boolean important;
-    private final boolean negative;
-
-    public FloatingTextEvent(float x, float y, String text, boolean important, boolean negative) {
-        super(x, y);
+    public FloatingTextEvent set(float x, float y, String text, boolean important, boolean negative) {
+        this.x = x;
+        this.y = y;
         this.text = text;
         this.important = important;
         this.negative = negative;
+        return this;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
     }
 
     public String getText() {
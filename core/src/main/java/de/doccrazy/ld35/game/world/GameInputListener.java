@@ -1,6 +1,5 @@
 package de.doccrazy.ld35.game.world;
 
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
 
@@ -24,7 +23,7 @@ public class GameInputListener extends InputListener {
 
     @Override
     public boolean mouseMoved(InputEvent event, float x, float y) {
-        world.setMouseTarget(new Vector2(x, y));
+        world.setMouseTarget(x, y);
         return true;
     }
 
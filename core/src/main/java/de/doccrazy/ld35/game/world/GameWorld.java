@@ -1,11 +1,18 @@
 package de.doccrazy.ld35.game.world;
 
 import box2dLight.RayHandler;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
 import de.doccrazy.ld35.core.Resource;
 import de.doccrazy.ld35.data.GameRules;
 import de.doccrazy.ld35.game.actor.*;
-import de.doccrazy.shared.game.actor.ParticleActor;
+import de.doccrazy.ld35.game.particle.ParticleSystem;
+import de.doccrazy.ld35.game.profiler.FrameProfiler;
+import de.doccrazy.ld35.game.profiler.Phase;
+import de.doccrazy.ld35.game.replay.InputRecorder;
+import de.doccrazy.ld35.game.replay.InputRecording;
 import de.doccrazy.shared.game.actor.WorldActor;
 import de.doccrazy.shared.game.world.Box2dWorld;
 import de.doccrazy.shared.game.world.GameState;
@@ -20,13 +27,35 @@ public class GameWorld extends Box2dWorld<GameWorld> {
     private PlayerActor player;
 	private boolean waitingForRound, gameOver;
 	private int round;
-    private Vector2 mouseTarget;
+    private final Vector2 mouseTarget = new Vector2();
     private Level level;
     private Function<GameWorld, Level> levelFactory;
+    private final boolean headless;
+    private PlayerController playerController;
+    private InputRecorder recorder;
+    private InputRecording lastRecording;
+    private final ParticleSystem particles;
+    private DecalLayerActor decals;
+    private final SpatialIndex spatialIndex = new SpatialIndex();
+    private final Array<Actor> interpolated = new Array<>(false, 16);
+    private float accumulator, interpolationAlpha = 1f;
+    private final EventQueue<ScreenShakeEvent> screenShakes = new EventQueue<>(ScreenShakeEvent::new);
+    private final EventQueue<FloatingTextEvent> floatingTexts = new EventQueue<>(FloatingTextEvent::new);
 
     public GameWorld() {
+        this(false);
+    }
+
+    /**
+     * @param headless true to run without graphics: no lights, textures or particles are created,
+     *                 only physics, actors and state transitions
+     */
+    public GameWorld(boolean headless) {
         super(GameRules.GRAVITY);
+        this.headless = headless;
+        particles = headless ? null : new ParticleSystem(Resource.GFX.particles);
         RayHandler.useDiffuseLight(true);
+        FrameProfiler.instrument(stage, new CullingRoot(spatialIndex));
         //transition(GameState.PRE_GAME);
     }
 
@@ -37,19 +66,39 @@ public class GameWorld extends Box2dWorld<GameWorld> {
             	waitingForRound = false;
                 break;
             case PRE_GAME:
+                if (!headless) {
+                    particles.clear();
+                }
                 level = levelFactory.apply(this);
+                spatialIndex.reset(level.getBoundingBox());
                 addActor(level);
                 addActor(player = new PlayerActor(this, level.getSpawn()));
-                addActor(new ParticleActor(this));
+                if (!headless) {
+                    addActor(new ParticleLayerActor(this, ParticleSystem.LAYER_BACK));
+                    addActor(new ParticleLayerActor(this, ParticleSystem.LAYER_FRONT));
+                    addActor(decals = new DecalLayerActor(this, level.getBoundingBox()));
+                }
             	round++;
                 break;
             case GAME:
-                player.setupKeyboardControl();
-                stage.setKeyboardFocus(player);
+                if (playerController != null) {
+                    player.setupController(playerController);
+                } else {
+                    player.setupKeyboardControl();
+                    stage.setKeyboardFocus(player);
+                }
+                player.setupController(recorder = new InputRecorder(player.getController(), level.getTitle()));
                 break;
             case VICTORY:
                 gameOver = true;
             case DEFEAT:
+                if (recorder != null) {
+                    lastRecording = recorder.finish();
+                    recorder = null;
+                    if (!headless) {
+                        lastRecording.save(Gdx.files.local("replays/last.rec"));
+                    }
+                }
             	//for (Music m : Resource.MUSIC.fight) {
             	//	m.stop();
             	//}
@@ -58,8 +107,53 @@ public class GameWorld extends Box2dWorld<GameWorld> {
         }
     }
 
+    /**
+     * Advances the world in fixed steps of {@link GameRules#PHYSICS_STEP}, carrying the remainder over to the next
+     * frame. Headless worlds are stepped directly with the given delta, as their drivers already use fixed steps.
+     */
+    @Override
+    public void update(float delta) {
+        long start = FrameProfiler.start();
+        if (headless) {
+            super.update(delta);
+            spatialIndex.update();
+        } else {
+            accumulator += delta;
+            int steps = 0;
+            while (accumulator >= GameRules.PHYSICS_STEP && steps < GameRules.MAX_SUBSTEPS) {
+                savePreviousStates();
+                super.update(GameRules.PHYSICS_STEP);
+                accumulator -= GameRules.PHYSICS_STEP;
+                steps++;
+            }
+            if (accumulator >= GameRules.PHYSICS_STEP) {
+                accumulator %= GameRules.PHYSICS_STEP;
+            }
+            if (steps > 0) {
+                spatialIndex.update();
+            }
+            interpolationAlpha = accumulator / GameRules.PHYSICS_STEP;
+        }
+        FrameProfiler.stop(Phase.WORLD_UPDATE, start);
+    }
+
+    private void savePreviousStates() {
+        for (int i = interpolated.size - 1; i >= 0; i--) {
+            Actor actor = interpolated.get(i);
+            if (actor.getStage() == null) {
+                interpolated.removeIndex(i);
+            } else {
+                ((Interpolated) actor).savePreviousState();
+            }
+        }
+    }
+
     @Override
     protected void doUpdate(float delta) {
+        long start = FrameProfiler.start();
+        if (particles != null && level != null) {
+            particles.update(delta, level.getView());
+        }
     	switch (getGameState()) {
     	case GAME:
     	    if (player.isDead() || getRemainingTime() <= 0) {
@@ -86,6 +180,7 @@ public class GameWorld extends Box2dWorld<GameWorld> {
     		break;
 		default:
     	}
+        FrameProfiler.stop(Phase.ACT, start);
     }
 
     public PlayerActor getPlayer() {
@@ -108,14 +203,62 @@ public class GameWorld extends Box2dWorld<GameWorld> {
     	return waitingForRound;
     }
 
-    public void setMouseTarget(Vector2 mouseTarget) {
-        this.mouseTarget = mouseTarget;
+    public void setMouseTarget(float x, float y) {
+        mouseTarget.set(x, y);
     }
 
     public Vector2 getMouseTarget() {
         return mouseTarget;
     }
 
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Effects of this world; null when headless
+     */
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+
+    /**
+     * Persistent blood splats of the current round; null when headless
+     */
+    public DecalLayerActor getDecals() {
+        return decals;
+    }
+
+    /**
+     * Sized actors of the current round by position, for culling and "actors near" queries
+     */
+    public SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * How far rendering is between the previous and the current physics state, from 0 to 1
+     */
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+
+    public EventQueue<ScreenShakeEvent> getScreenShakes() {
+        return screenShakes;
+    }
+
+    public EventQueue<FloatingTextEvent> getFloatingTexts() {
+        return floatingTexts;
+    }
+
+    public void shakeScreen() {
+        screenShakes.post();
+    }
+
+    public void showFloatingText(float x, float y, String text, boolean important, boolean negative) {
+        floatingTexts.post().set(x, y, text, important, negative);
+    }
+
     public Level getLevel() {
         return level;
     }
@@ -132,6 +275,20 @@ public class GameWorld extends Box2dWorld<GameWorld> {
         transition(GameState.PRE_GAME);
     }
 
+    /**
+     * Use a scripted controller for the player instead of keyboard input; applies from the next round on
+     */
+    public void setPlayerController(PlayerController playerController) {
+        this.playerController = playerController;
+    }
+
+    /**
+     * Input of the last finished round, also saved to replays/last.rec when running with graphics
+     */
+    public InputRecording getLastRecording() {
+        return lastRecording;
+    }
+
     public void resetAll() {
         currentLevel = 0;
         reset();
@@ -146,5 +303,12 @@ public class GameWorld extends Box2dWorld<GameWorld> {
     @Override
     public void addActor(WorldActor<GameWorld> actor) {
         super.addActor(actor);
+        if (!(actor instanceof Level)) {
+            spatialIndex.add(actor);
+        }
+        if (actor instanceof Interpolated) {
+            ((Interpolated) actor).savePreviousState();
+            interpolated.add(actor);
+        }
     }
 }
@@ -0,0 +1,11 @@
+package de.doccrazy.ld35.game.world;
+
+/**
+ * Actor that is drawn between its last two physics states; implementing actors are tracked by GameWorld.addActor
+ */
+public interface Interpolated {
+    /**
+     * Called before every fixed physics step to remember the state the step starts from
+     */
+    void savePreviousState();
+}
@@ -1,9 +1,7 @@
 package de.doccrazy.ld35.game.world;
 
-import de.doccrazy.shared.game.event.Event;
-
-public class ScreenShakeEvent extends Event {
-    public ScreenShakeEvent() {
-        super(0, 0);
-    }
+/**
+ * Posted through {@link GameWorld#getScreenShakes()}; carries no data
+ */
+public class ScreenShakeEvent {
 }
@@ -0,0 +1,220 @@
+package de.doccrazy.ld35.game.world;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+
+/**
+ * Uniform grid over the level that buckets world actors by their bounds, for view culling and proximity queries.
+ * Actors without a size (layers, the level itself) are not indexed and always drawn. Actors outside the level
+ * area end up in the border cells. The cull result is kept apart from the actors' own visible flag and applied by
+ * {@link CullingRoot}.
+ */
+public class SpatialIndex {
+    private static final float CELL_SIZE = 4f;
+
+    private final Rectangle area = new Rectangle();
+    private int columns, rows;
+    private Array<Entry>[] cells;
+    private final IdentityMap<Actor, Entry> entries = new IdentityMap<>();
+    private final Array<Entry> all = new Array<>(false, 64);
+    private Array<Entry> shown = new Array<>(false, 64), nextShown = new Array<>(false, 64);
+    private int mark;
+
+    /**
+     * Drops all actors and lays out a new grid covering the given area
+     */
+    @SuppressWarnings("unchecked")
+    public void reset(Rectangle area) {
+        this.area.set(area);
+        columns = Math.max(1, MathUtils.ceil(area.width / CELL_SIZE));
+        rows = Math.max(1, MathUtils.ceil(area.height / CELL_SIZE));
+        cells = new Array[columns * rows];
+        entries.clear();
+        all.clear();
+        shown.clear();
+    }
+
+    public void add(Actor actor) {
+        if (cells == null || actor.getWidth() <= 0 || actor.getHeight() <= 0 || entries.containsKey(actor)) {
+            return;
+        }
+        Entry entry = new Entry(actor);
+        entry.updateBounds();
+        insert(entry);
+        entries.put(actor, entry);
+        all.add(entry);
+        //in view until the next cull decides otherwise
+        shown.add(entry);
+    }
+
+    /**
+     * Re-buckets actors that moved and drops the ones that were removed from the stage; call once per world update
+     */
+    public void update() {
+        for (int i = all.size - 1; i >= 0; i--) {
+            Entry entry = all.get(i);
+            if (entry.actor.getStage() == null) {
+                erase(entry);
+                entries.remove(entry.actor);
+                all.removeIndex(i);
+            } else if (entry.moved()) {
+                erase(entry);
+                entry.updateBounds();
+                insert(entry);
+            }
+        }
+    }
+
+    /**
+     * Marks indexed actors overlapping the view as in view and the rest as culled, touching only the cells in view
+     * and the actors that were in view before
+     */
+    public void cull(Rectangle view) {
+        if (cells == null) {
+            return;
+        }
+        mark++;
+        nextShown.clear();
+        int x0 = column(view.x), x1 = column(view.x + view.width);
+        int y0 = row(view.y), y1 = row(view.y + view.height);
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                Array<Entry> cell = cells[y * columns + x];
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    Entry entry = cell.get(i);
+                    if (entry.mark != mark && entry.bounds.overlaps(view)) {
+                        entry.mark = mark;
+                        entry.inView = true;
+                        nextShown.add(entry);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < shown.size; i++) {
+            Entry entry = shown.get(i);
+            if (entry.mark != mark) {
+                entry.inView = false;
+            }
+        }
+        Array<Entry> tmp = shown;
+        shown = nextShown;
+        nextShown = tmp;
+    }
+
+    /**
+     * Collects indexed actors whose bounds come within radius of the point
+     * @return out, for chaining
+     */
+    public Array<Actor> getActorsNear(float px, float py, float radius, Array<Actor> out) {
+        if (cells == null) {
+            return out;
+        }
+        mark++;
+        int x0 = column(px - radius), x1 = column(px + radius);
+        int y0 = row(py - radius), y1 = row(py + radius);
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                Array<Entry> cell = cells[y * columns + x];
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    Entry entry = cell.get(i);
+                    if (entry.mark == mark) {
+                        continue;
+                    }
+                    entry.mark = mark;
+                    Rectangle b = entry.bounds;
+                    float dx = px - MathUtils.clamp(px, b.x, b.x + b.width);
+                    float dy = py - MathUtils.clamp(py, b.y, b.y + b.height);
+                    if (dx * dx + dy * dy <= radius * radius) {
+                        out.add(entry.actor);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @return true if the actor is indexed and was outside the view at the last cull
+     */
+    public boolean isCulled(Actor actor) {
+        Entry entry = entries.get(actor);
+        return entry != null && !entry.inView;
+    }
+
+    public int size() {
+        return all.size;
+    }
+
+    private void insert(Entry entry) {
+        entry.x0 = column(entry.bounds.x);
+        entry.x1 = column(entry.bounds.x + entry.bounds.width);
+        entry.y0 = row(entry.bounds.y);
+        entry.y1 = row(entry.bounds.y + entry.bounds.height);
+        for (int y = entry.y0; y <= entry.y1; y++) {
+            for (int x = entry.x0; x <= entry.x1; x++) {
+                int index = y * columns + x;
+                if (cells[index] == null) {
+                    cells[index] = new Array<>(false, 8);
+                }
+                cells[index].add(entry);
+            }
+        }
+    }
+
+    private void erase(Entry entry) {
+        for (int y = entry.y0; y <= entry.y1; y++) {
+            for (int x = entry.x0; x <= entry.x1; x++) {
+                cells[y * columns + x].removeValue(entry, true);
+            }
+        }
+    }
+
+    private int column(float x) {
+        return MathUtils.clamp((int) ((x - area.x) / CELL_SIZE), 0, columns - 1);
+    }
+
+    private int row(float y) {
+        return MathUtils.clamp((int) ((y - area.y) / CELL_SIZE), 0, rows - 1);
+    }
+
+    private static class Entry {
+        final Actor actor;
+        final Rectangle bounds = new Rectangle();
+        float x, y, width, height, scaleX, scaleY;
+        int x0, y0, x1, y1;
+        int mark;
+        boolean inView = true;
+
+        Entry(Actor actor) {
+            this.actor = actor;
+        }
+
+        boolean moved() {
+            return actor.getX() != x || actor.getY() != y || actor.getWidth() != width || actor.getHeight() != height
+                    || actor.getScaleX() != scaleX || actor.getScaleY() != scaleY;
+        }
+
+        /**
+         * Uses a square around the actor's center that contains it at any rotation
+         */
+        void updateBounds() {
+            x = actor.getX();
+            y = actor.getY();
+            width = actor.getWidth();
+            height = actor.getHeight();
+            scaleX = actor.getScaleX();
+            scaleY = actor.getScaleY();
+            float extent = Math.max(width * Math.abs(scaleX), height * Math.abs(scaleY)) * 1.5f;
+            bounds.set(x + width / 2f - extent / 2f, y + height / 2f - extent / 2f, extent, extent);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package de.doccrazy.ld35.resources;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.ETC1;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * GPU-compressed variants of large opaque images, produced at build time next to the source PNG, one per
+ * {@link Format}: image.png becomes image.etc2.ktx and image.dxt1.ktx, a tiled background gets one KTX per tile and
+ * format in image.tiles/. Every variant carries the full mipmap chain.
+ */
+public final class CompressedTextures {
+    private static final int GL_RGB = 0x1907;
+    private static final byte[] KTX_IDENTIFIER = {(byte) 0xAB, 'K', 'T', 'X', ' ', '1', '1', (byte) 0xBB, '\r', '\n', 0x1A, '\n'};
+
+    public enum Format {
+        /** ETC1 blocks stored with the ETC2 RGB8 format id, which decodes them unchanged; for OpenGL ES 3 devices */
+        ETC2("etc2", 0x9274),
+        /** S3TC DXT1 without alpha; for desktop GPUs, where ETC2 is usually decoded by the driver if at all */
+        DXT1("dxt1", 0x83F0);
+
+        private final String extension;
+        private final int glInternalFormat;
+
+        Format(String extension, int glInternalFormat) {
+            this.extension = extension;
+            this.glInternalFormat = glInternalFormat;
+        }
+    }
+
+    private CompressedTextures() {
+    }
+
+    /**
+     * @return the format the GPU can sample directly, or null if PNGs must be used
+     */
+    public static Format supportedFormat() {
+        if (Gdx.graphics == null) {
+            return null;
+        }
+        boolean mobile = Gdx.app.getType() == Application.ApplicationType.Android || Gdx.app.getType() == Application.ApplicationType.iOS;
+        if (mobile && Gdx.graphics.isGL30Available()) {
+            //ETC2 is mandatory in OpenGL ES 3.0
+            return Format.ETC2;
+        }
+        if (Gdx.graphics.supportsExtension("GL_EXT_texture_compression_s3tc")) {
+            return Format.DXT1;
+        }
+        return null;
+    }
+
+    public static FileHandle variant(FileHandle png, Format format) {
+        return png.sibling(png.nameWithoutExtension() + "." + format.extension + ".ktx");
+    }
+
+    public static FileHandle tile(FileHandle tileDir, int tile, Format format) {
+        return tileDir.child(tile + "." + format.extension + ".ktx");
+    }
+
+    public static FileHandle tileDir(FileHandle png) {
+        return png.sibling(png.nameWithoutExtension() + ".tiles");
+    }
+
+    /**
+     * Loads a compressed texture with mipmapping enabled
+     */
+    public static Texture load(FileHandle ktx) {
+        Texture texture = new Texture(ktx);
+        texture.setFilter(Texture.TextureFilter.MipMapLinearLinear, Texture.TextureFilter.Linear);
+        return texture;
+    }
+
+    /**
+     * @return the compressed variant of the image if the GPU supports it and it exists, else null
+     */
+    public static FileHandle find(FileHandle png) {
+        Format format = supportedFormat();
+        if (format == null) {
+            return null;
+        }
+        FileHandle ktx = variant(png, format);
+        return ktx.exists() ? ktx : null;
+    }
+
+    /**
+     * Neither format is used with alpha, so only opaque images are compressed
+     */
+    public static boolean isOpaque(Pixmap image) {
+        if (image.getFormat() == Pixmap.Format.RGB888 || image.getFormat() == Pixmap.Format.RGB565) {
+            return true;
+        }
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if ((image.getPixel(x, y) & 0xff) != 0xff) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the image with all mipmap levels down to 1x1 and writes it as KTX
+     */
+    public static void write(Pixmap image, FileHandle file, Format format) {
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(file.write(false));
+            write(image, out, format);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(out);
+        }
+    }
+
+    private static void write(Pixmap image, DataOutputStream out, Format format) throws IOException {
+        int levels = 1;
+        for (int size = Math.max(image.getWidth(), image.getHeight()); size > 1; size /= 2) {
+            levels++;
+        }
+        out.write(KTX_IDENTIFIER);
+        //all header fields in native (little endian) order, marked by the endianness field
+        ByteBuffer header = ByteBuffer.allocate(13 * 4).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0x04030201).putInt(0).putInt(1).putInt(0)
+                .putInt(format.glInternalFormat).putInt(GL_RGB)
+                .putInt(image.getWidth()).putInt(image.getHeight()).putInt(0)
+                .putInt(0).putInt(1).putInt(levels).putInt(0);
+        out.write(header.array());
+
+        Pixmap level = toRgb(image, image.getWidth(), image.getHeight());
+        for (int i = 0; i < levels; i++) {
+            byte[] data = format == Format.ETC2 ? encodeEtc(level) : encodeDxt1(level);
+            out.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(data.length).array());
+            //both formats use 8 byte blocks, so no padding is needed
+            out.write(data);
+            if (i < levels - 1) {
+                Pixmap next = toRgb(level, Math.max(1, level.getWidth() / 2), Math.max(1, level.getHeight() / 2));
+                level.dispose();
+                level = next;
+            }
+        }
+        level.dispose();
+    }
+
+    private static byte[] encodeEtc(Pixmap level) {
+        ETC1.ETC1Data data = ETC1.encodeImage(level);
+        try {
+            byte[] bytes = new byte[data.compressedData.capacity() - data.dataOffset];
+            data.compressedData.position(data.dataOffset);
+            data.compressedData.get(bytes);
+            return bytes;
+        } finally {
+            data.dispose();
+        }
+    }
+
+    /**
+     * Encodes 4x4 blocks with the endpoints on the inset bounding box diagonal that follows the block's color trend,
+     * which is fast and close enough for photographic backgrounds. Pixels outside the image repeat the edge.
+     */
+    private static byte[] encodeDxt1(Pixmap level) {
+        int blocksX = (level.getWidth() + 3) / 4, blocksY = (level.getHeight() + 3) / 4;
+        ByteBuffer out = ByteBuffer.allocate(blocksX * blocksY * 8).order(ByteOrder.LITTLE_ENDIAN);
+        int[] block = new int[16 * 3];
+        int[] palette = new int[4 * 3];
+        for (int by = 0; by < blocksY; by++) {
+            for (int bx = 0; bx < blocksX; bx++) {
+                int[] min = {255, 255, 255}, max = {0, 0, 0};
+                for (int i = 0; i < 16; i++) {
+                    int x = Math.min(bx * 4 + i % 4, level.getWidth() - 1), y = Math.min(by * 4 + i / 4, level.getHeight() - 1);
+                    int rgba = level.getPixel(x, y);
+                    for (int c = 0; c < 3; c++) {
+                        int value = (rgba >>> (24 - c * 8)) & 0xff;
+                        block[i * 3 + c] = value;
+                        min[c] = Math.min(min[c], value);
+                        max[c] = Math.max(max[c], value);
+                    }
+                }
+                int reference = 0;
+                for (int c = 1; c < 3; c++) {
+                    if (max[c] - min[c] > max[reference] - min[reference]) {
+                        reference = c;
+                    }
+                }
+                for (int c = 0; c < 3; c++) {
+                    int inset = (max[c] - min[c]) >> 4;
+                    min[c] += inset;
+                    max[c] -= inset;
+                    if (c != reference && covariance(block, reference, c) < 0) {
+                        //the channel falls while the widest one rises, so use the other diagonal of the box
+                        int swap = min[c];
+                        min[c] = max[c];
+                        max[c] = swap;
+                    }
+                }
+                int color0 = rgb565(max), color1 = rgb565(min);
+                int indices = 0;
+                if (color0 != color1) {
+                    //color0 > color1 selects the four color mode
+                    if (color0 < color1) {
+                        int swap = color0;
+                        color0 = color1;
+                        color1 = swap;
+                    }
+                    expand565(color0, palette, 0);
+                    expand565(color1, palette, 1);
+                    for (int c = 0; c < 3; c++) {
+                        palette[2 * 3 + c] = (2 * palette[c] + palette[3 + c]) / 3;
+                        palette[3 * 3 + c] = (palette[c] + 2 * palette[3 + c]) / 3;
+                    }
+                    for (int i = 15; i >= 0; i--) {
+                        int best = 0, bestDistance = Integer.MAX_VALUE;
+                        for (int p = 0; p < 4; p++) {
+                            int distance = 0;
+                            for (int c = 0; c < 3; c++) {
+                                int d = block[i * 3 + c] - palette[p * 3 + c];
+                                distance += d * d;
+                            }
+                            if (distance < bestDistance) {
+                                best = p;
+                                bestDistance = distance;
+                            }
+                        }
+                        indices = (indices << 2) | best;
+                    }
+                }
+                out.putShort((short) color0).putShort((short) color1).putInt(indices);
+            }
+        }
+        return out.array();
+    }
+
+    private static int covariance(int[] block, int a, int b) {
+        int sumA = 0, sumB = 0, sumAB = 0;
+        for (int i = 0; i < 16; i++) {
+            sumA += block[i * 3 + a];
+            sumB += block[i * 3 + b];
+            sumAB += block[i * 3 + a] * block[i * 3 + b];
+        }
+        return 16 * sumAB - sumA * sumB;
+    }
+
+    private static int rgb565(int[] rgb) {
+        return ((rgb[0] >> 3) << 11) | ((rgb[1] >> 2) << 5) | (rgb[2] >> 3);
+    }
+
+    private static void expand565(int color, int[] palette, int index) {
+        int r = (color >> 11) & 0x1f, g = (color >> 5) & 0x3f, b = color & 0x1f;
+        palette[index * 3] = (r << 3) | (r >> 2);
+        palette[index * 3 + 1] = (g << 2) | (g >> 4);
+        palette[index * 3 + 2] = (b << 3) | (b >> 2);
+    }
+
+    private static Pixmap toRgb(Pixmap source, int width, int height) {
+        Pixmap result = new Pixmap(width, height, Pixmap.Format.RGB888);
+        result.setBlending(Pixmap.Blending.None);
+        result.setFilter(Pixmap.Filter.BiLinear);
+        result.drawPixmap(source, 0, 0, source.getWidth(), source.getHeight(), 0, 0, width, height);
+        return result;
+    }
+}
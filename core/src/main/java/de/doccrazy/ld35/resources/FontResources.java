@@ -1,6 +1,8 @@
 package de.doccrazy.ld35.resources;
 
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
 
 import de.doccrazy.shared.core.ResourcesBase;
 
@@ -9,4 +11,11 @@ public class FontResources extends ResourcesBase {
     public BitmapFont retroBig = bitmapFont("retro-big");
     public BitmapFont retroSmall = bitmapFont("retro-small");
     public BitmapFont menu = bitmapFont("menu");
+    //libgdx built-in font
+    public BitmapFont standard = new BitmapFont();
+
+    //shared by all floating text labels
+    public Label.LabelStyle floatingText = new Label.LabelStyle(standard, new Color(1f, 0.7f, 0f, 0.75f));
+    public Label.LabelStyle floatingTextImportant = new Label.LabelStyle(retro, new Color(1, 1, 1, 0.75f));
+    public Label.LabelStyle floatingTextNegative = new Label.LabelStyle(retro, new Color(1, 0.3f, 0.3f, 0.75f));
 }
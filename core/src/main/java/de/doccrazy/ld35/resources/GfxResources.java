@@ -1,25 +1,24 @@
 package de.doccrazy.ld35.resources;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.NinePatch;
 import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.utils.XmlReader;
 import de.doccrazy.shared.core.ResourcesBase;
 
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 public class GfxResources extends ResourcesBase {
-    public TextureRegion introFull = new TextureRegion(texture("intro-full.png"));
-    public TextureRegion victory = new TextureRegion(texture("victory.png"));
+    public TextureRegion introFull = new TextureRegion(compressedTexture("intro-full.png"));
+    public TextureRegion victory = new TextureRegion(compressedTexture("victory.png"));
     /*public TextureRegion intermezzo = new TextureRegion(texture("intermezzo.png"));
     public TextureRegion continueTx = new TextureRegion(texture("continue.png"));
     public TextureRegion thanksTx = new TextureRegion(texture("thanks.png"));*/
-    public TextureRegion defeat = new TextureRegion(texture("defeat.png"));
+    public TextureRegion defeat = new TextureRegion(compressedTexture("defeat.png"));
 
     public NinePatch button = new NinePatch(texture("button.png"), 12, 12, 12, 12);
 
@@ -32,26 +31,18 @@ public class GfxResources extends ResourcesBase {
         put("explosion", particle("explosion.p", 0.02f));
     }};
 
-    public XmlReader.Element level1 = xml("level.svg");
-    public XmlReader.Element level2 = xml("level2.svg");
-    public TextureRegion level1Tex = new TextureRegion(textureFilter("level.png"));
-    public TextureRegion level2Tex = new TextureRegion(textureFilter("level2.png"));
+    public FileHandle[] bundledLevels = new FileHandle[]{Gdx.files.internal("level.svg"), Gdx.files.internal("level2.svg")};
+    public LevelAssetCache levels = new LevelAssetCache(8, 2);
 
     public GfxResources() {
         super("game.atlas");
     }
 
-    protected XmlReader.Element xml(String filename) {
-        try {
-            return new XmlReader().parse(Gdx.files.internal(filename));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    protected Texture textureFilter(String filename) {
-        Texture tex = texture(filename);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        return tex;
+    /**
+     * Prefers the build-time compressed variant of the image, see {@link CompressedTextures}
+     */
+    private Texture compressedTexture(String name) {
+        FileHandle ktx = CompressedTextures.find(Gdx.files.internal(name));
+        return ktx != null ? CompressedTextures.load(ktx) : texture(name);
     }
 }
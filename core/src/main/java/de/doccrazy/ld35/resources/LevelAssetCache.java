@@ -0,0 +1,92 @@
+package de.doccrazy.ld35.resources;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+import de.doccrazy.ld35.game.level.LevelSource;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads level data and level backgrounds on first use and keeps only the most recently used ones.
+ * Evicted backgrounds are disposed, so texture memory stays bounded no matter how many levels exist.
+ */
+public class LevelAssetCache implements Disposable {
+    private final Map<String, LevelSource> levels;
+    private final Map<String, TiledBackground> backgrounds;
+    private final Set<String> modified = new HashSet<>();
+
+    public LevelAssetCache(int maxLevels, int maxBackgrounds) {
+        levels = new LinkedHashMap<String, LevelSource>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LevelSource> eldest) {
+                return size() > maxLevels;
+            }
+        };
+        backgrounds = new LinkedHashMap<String, TiledBackground>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TiledBackground> eldest) {
+                if (size() > maxBackgrounds) {
+                    eldest.getValue().dispose();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public LevelSource getLevel(FileHandle svgFile) {
+        //once edited, compiled levels from the build are outdated
+        return levels.computeIfAbsent(key(svgFile), k -> modified.contains(k) ? LevelSource.loadSvg(svgFile) : LevelSource.load(svgFile));
+    }
+
+    /**
+     * Background image for a level, i.e. the PNG next to its SVG
+     */
+    public TiledBackground getBackground(FileHandle svgFile) {
+        return backgrounds.computeIfAbsent(key(svgFile), k -> new TiledBackground(svgFile.sibling(svgFile.nameWithoutExtension() + ".png")));
+    }
+
+    /**
+     * Drops cached data for a level after its SVG changed; from now on it is always loaded from SVG
+     */
+    public void invalidateLevel(FileHandle svgFile) {
+        modified.add(key(svgFile));
+        levels.remove(key(svgFile));
+    }
+
+    /**
+     * Drops the cached background of a level after its PNG changed. It is not disposed, as a running level may still
+     * draw it until its replacement has been built.
+     * @return the dropped background for the caller to dispose once unused, or null if none was cached
+     */
+    public TiledBackground invalidateBackground(FileHandle svgFile) {
+        return backgrounds.remove(key(svgFile));
+    }
+
+    public boolean isCached(TiledBackground background) {
+        return backgrounds.containsValue(background);
+    }
+
+    @Override
+    public void dispose() {
+        for (TiledBackground background : backgrounds.values()) {
+            background.dispose();
+        }
+        backgrounds.clear();
+        levels.clear();
+    }
+
+    /**
+     * Files on disk are keyed by absolute path, so the same level reached via different handles shares an entry
+     */
+    private static String key(FileHandle file) {
+        if (file.type() != Files.FileType.Classpath && file.file().exists()) {
+            return file.file().getAbsoluteFile().toPath().normalize().toString();
+        }
+        return file.type() + ":" + file.path();
+    }
+}
@@ -0,0 +1,223 @@
+package de.doccrazy.ld35.resources;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Level background split into tiles when loaded, so it is not limited by the maximum texture size.
+ * The decoded tiles stay in memory; only tiles near the visible area are uploaded as textures, and
+ * tiles that scroll out of range are released again. Opaque tiles are loaded from their compressed variants
+ * instead, if those were built and the GPU supports them.
+ */
+public class TiledBackground implements Disposable {
+    public static final int TILE_SIZE = 512;
+    //in the compressed tile directory: image width, height and byte size of the PNG the tiles were built from
+    public static final String LAYOUT_FILE = "layout";
+    //tiles this far outside the view stay uploaded, so moving along a tile border does not re-upload
+    private static final int KEEP_MARGIN = 1;
+    //duplicated neighbour pixels around each tile, so linear filtering does not show seams
+    private static final int GUTTER = 1;
+
+    private final int imageWidth, imageHeight, cols, rows;
+    //per tile either a decoded pixmap or a compressed variant to load on upload
+    private final Pixmap[] pixmaps;
+    private final FileHandle[] compressed;
+    private final Texture[] textures;
+    private final int[] innerX, innerY, innerWidth, innerHeight;
+    private int residentTiles;
+    //tiles that may be uploaded: the visible ones of the last draw plus KEEP_MARGIN, clamped to the grid
+    private int keepCol0, keepCol1 = -1, keepRow0, keepRow1 = -1;
+
+    public TiledBackground(FileHandle png) {
+        FileHandle tileDir = CompressedTextures.tileDir(png);
+        CompressedTextures.Format format = CompressedTextures.supportedFormat();
+        int[] size = format != null ? compressedSize(png, tileDir) : null;
+        Pixmap image = null;
+        if (size == null) {
+            image = new Pixmap(png);
+            size = new int[]{image.getWidth(), image.getHeight()};
+        }
+        imageWidth = size[0];
+        imageHeight = size[1];
+        cols = columns(imageWidth);
+        rows = columns(imageHeight);
+        pixmaps = new Pixmap[cols * rows];
+        compressed = new FileHandle[cols * rows];
+        textures = new Texture[cols * rows];
+        innerX = new int[cols * rows];
+        innerY = new int[cols * rows];
+        innerWidth = new int[cols * rows];
+        innerHeight = new int[cols * rows];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int tile = row * cols + col;
+                layout(tile, col * TILE_SIZE, row * TILE_SIZE);
+                FileHandle ktx = image == null ? CompressedTextures.tile(tileDir, tile, format) : null;
+                if (ktx != null && ktx.exists()) {
+                    compressed[tile] = ktx;
+                } else {
+                    //tiles with transparency have no compressed variant
+                    if (image == null) {
+                        image = new Pixmap(png);
+                    }
+                    pixmaps[tile] = cutTile(image, col, row);
+                }
+            }
+        }
+        if (image != null) {
+            image.dispose();
+        }
+    }
+
+    /**
+     * Reads the image size from the compressed tiles built for the PNG
+     * @return null if compressed tiles are missing or were built from a different version of the PNG
+     */
+    private static int[] compressedSize(FileHandle png, FileHandle tileDir) {
+        FileHandle layout = tileDir.child(LAYOUT_FILE);
+        if (!layout.exists()) {
+            return null;
+        }
+        String[] values = layout.readString("UTF-8").trim().split(" ");
+        long sourceLength = Long.parseLong(values[2]);
+        //the length is unknown for PNGs inside a jar; edited PNGs (hot reload) fall back until rebuilt
+        if (png.length() > 0 && png.length() != sourceLength) {
+            return null;
+        }
+        return new int[]{Integer.parseInt(values[0]), Integer.parseInt(values[1])};
+    }
+
+    /**
+     * Writes the layout file that marks the compressed tiles in tileDir as built from the given PNG
+     */
+    public static void writeLayout(FileHandle png, Pixmap image, FileHandle tileDir) {
+        tileDir.child(LAYOUT_FILE).writeString(image.getWidth() + " " + image.getHeight() + " " + png.length(), false, "UTF-8");
+    }
+
+    public static int columns(int size) {
+        return (size + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    private void layout(int tile, int x, int y) {
+        int width = Math.min(TILE_SIZE, imageWidth - x);
+        int height = Math.min(TILE_SIZE, imageHeight - y);
+        innerX[tile] = Math.min(GUTTER, x);
+        innerY[tile] = Math.min(GUTTER, y);
+        innerWidth[tile] = width;
+        innerHeight[tile] = height;
+    }
+
+    /**
+     * Copies a tile including its gutter out of the image; also used to build the compressed tiles
+     */
+    public static Pixmap cutTile(Pixmap image, int col, int row) {
+        int x = col * TILE_SIZE, y = row * TILE_SIZE;
+        int width = Math.min(TILE_SIZE, image.getWidth() - x);
+        int height = Math.min(TILE_SIZE, image.getHeight() - y);
+        int left = Math.min(GUTTER, x), top = Math.min(GUTTER, y);
+        int right = Math.min(GUTTER, image.getWidth() - x - width), bottom = Math.min(GUTTER, image.getHeight() - y - height);
+        Pixmap pixmap = new Pixmap(left + width + right, top + height + bottom, image.getFormat());
+        pixmap.setBlending(Pixmap.Blending.None);
+        pixmap.drawPixmap(image, 0, 0, x - left, y - top, pixmap.getWidth(), pixmap.getHeight());
+        return pixmap;
+    }
+
+    /**
+     * Draws the tiles intersecting the view, uploading them on demand and releasing those out of range
+     * @param x, y, width, height area covered by the whole background, in world units
+     * @param view visible area, in world units
+     */
+    public void draw(Batch batch, float x, float y, float width, float height, Rectangle view) {
+        float tileWidth = TILE_SIZE * width / imageWidth;
+        float tileHeight = TILE_SIZE * height / imageHeight;
+        //image rows go top down
+        int col0 = MathUtils.floor((view.x - x) / tileWidth);
+        int col1 = MathUtils.floor((view.x + view.width - x) / tileWidth);
+        int row0 = MathUtils.floor((y + height - view.y - view.height) / tileHeight);
+        int row1 = MathUtils.floor((y + height - view.y) / tileHeight);
+        releaseOutside(Math.max(0, col0 - KEEP_MARGIN), Math.min(cols - 1, col1 + KEEP_MARGIN),
+                Math.max(0, row0 - KEEP_MARGIN), Math.min(rows - 1, row1 + KEEP_MARGIN));
+
+        for (int row = Math.max(0, row0); row <= Math.min(rows - 1, row1); row++) {
+            for (int col = Math.max(0, col0); col <= Math.min(cols - 1, col1); col++) {
+                int tile = row * cols + col;
+                float tileX = x + col * tileWidth;
+                float tileTop = y + height - row * tileHeight;
+                float w = innerWidth[tile] * width / imageWidth, h = innerHeight[tile] * height / imageHeight;
+                batch.draw(upload(tile), tileX, tileTop - h, w, h,
+                        innerX[tile], innerY[tile], innerWidth[tile], innerHeight[tile], false, false);
+            }
+        }
+    }
+
+    /**
+     * Releases the tiles of the previous keep range that fall outside the new one, so the cost depends on the view
+     * size only; all uploaded tiles are always inside the keep range
+     */
+    private void releaseOutside(int newCol0, int newCol1, int newRow0, int newRow1) {
+        for (int row = keepRow0; row <= keepRow1; row++) {
+            for (int col = keepCol0; col <= keepCol1; col++) {
+                int tile = row * cols + col;
+                if (textures[tile] != null && (col < newCol0 || col > newCol1 || row < newRow0 || row > newRow1)) {
+                    release(tile);
+                }
+            }
+        }
+        keepCol0 = newCol0;
+        keepCol1 = newCol1;
+        keepRow0 = newRow0;
+        keepRow1 = newRow1;
+    }
+
+    private Texture upload(int tile) {
+        if (textures[tile] == null) {
+            if (compressed[tile] == null && pixmaps[tile] == null) {
+                throw new IllegalStateException("Background has been disposed");
+            }
+            if (compressed[tile] != null) {
+                textures[tile] = CompressedTextures.load(compressed[tile]);
+            } else {
+                textures[tile] = new Texture(pixmaps[tile]);
+                textures[tile].setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            }
+            residentTiles++;
+        }
+        return textures[tile];
+    }
+
+    private void release(int tile) {
+        textures[tile].dispose();
+        textures[tile] = null;
+        residentTiles--;
+    }
+
+    public int getTileCount() {
+        return pixmaps.length;
+    }
+
+    /**
+     * @return number of tiles currently uploaded to the GPU
+     */
+    public int getResidentTiles() {
+        return residentTiles;
+    }
+
+    @Override
+    public void dispose() {
+        for (int i = 0; i < pixmaps.length; i++) {
+            if (textures[i] != null) {
+                release(i);
+            }
+            if (pixmaps[i] != null) {
+                pixmaps[i].dispose();
+                pixmaps[i] = null;
+            }
+            compressed[i] = null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package de.doccrazy.ld35.game.level;
+
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TriggerZonesTest {
+    private static final int SQUARE = 0, L_SHAPE = 1, TRIANGLE = 2;
+
+    private TriggerZones zones;
+
+    @Before
+    public void setUp() {
+        Vector2[] square = {new Vector2(0, 0), new Vector2(4, 0), new Vector2(4, 4), new Vector2(0, 4)};
+        //concave, notch at the top right; clockwise to check that winding does not matter
+        Vector2[] lShape = {new Vector2(10, 0), new Vector2(10, 4), new Vector2(12, 4), new Vector2(12, 2),
+                new Vector2(14, 2), new Vector2(14, 0)};
+        Vector2[] triangle = {new Vector2(20, 0), new Vector2(24, 0), new Vector2(20, 4)};
+        zones = new TriggerZones(Arrays.asList(square, lShape), Collections.singletonList(triangle));
+    }
+
+    @Test
+    public void centerInside() {
+        assertTrue(zones.overlaps(SQUARE, 2, 2, 0.1f));
+        assertTrue(zones.overlaps(L_SHAPE, 11, 3, 0.1f));
+        assertTrue(zones.overlaps(TRIANGLE, 21, 1, 0.1f));
+    }
+
+    @Test
+    public void edgeWithinRadius() {
+        assertTrue(zones.overlaps(SQUARE, 4.4f, 2, 0.5f));
+        assertTrue(zones.overlaps(SQUARE, 2, -0.4f, 0.5f));
+        assertFalse(zones.overlaps(SQUARE, 4.6f, 2, 0.5f));
+    }
+
+    @Test
+    public void cornerOnlyCountsWithinRadius() {
+        //inside the bounding box test, but the corner is sqrt(0.32) ~ 0.57 away
+        assertFalse(zones.overlaps(SQUARE, 4.4f, 4.4f, 0.5f));
+        assertTrue(zones.overlaps(SQUARE, 4.3f, 4.3f, 0.5f));
+    }
+
+    @Test
+    public void hypotenuse() {
+        //center outside the triangle, distance to the hypotenuse x + y = 24 is 1/sqrt(2)
+        assertTrue(zones.overlaps(TRIANGLE, 22.5f, 2.5f, 0.75f));
+        assertFalse(zones.overlaps(TRIANGLE, 22.5f, 2.5f, 0.65f));
+    }
+
+    @Test
+    public void concaveNotch() {
+        assertFalse(zones.overlaps(L_SHAPE, 13, 3.5f, 0.5f));
+        assertTrue(zones.overlaps(L_SHAPE, 13, 2.4f, 0.5f));
+        assertTrue(zones.overlaps(L_SHAPE, 12.4f, 3.5f, 0.5f));
+    }
+
+    @Test
+    public void farAway() {
+        assertFalse(zones.overlaps(SQUARE, 30, 30, 1));
+        assertFalse(zones.overlaps(TRIANGLE, 2, 2, 1));
+    }
+}
@@ -0,0 +1,89 @@
+package de.doccrazy.ld35.game.particle;
+
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.math.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParticleSystemTest {
+    private static final Rectangle VIEW = new Rectangle(-10, -10, 20, 20);
+    private static final float LIFE = 0.1f;
+
+    private ParticleSystem system;
+
+    /**
+     * Continuous effect that always keeps exactly one particle alive while it is emitting
+     */
+    @Before
+    public void setUp() {
+        ParticleEmitter emitter = new ParticleEmitter();
+        emitter.setContinuous(true);
+        emitter.setMinParticleCount(1);
+        emitter.setMaxParticleCount(1);
+        //no texture needed, but culling derives the effect size from the region size
+        emitter.setSprite(new Sprite() {
+            @Override
+            public int getRegionWidth() {
+                return 1;
+            }
+
+            @Override
+            public int getRegionHeight() {
+                return 1;
+            }
+        });
+        emitter.getDuration().setLow(1000);
+        emitter.getLife().setHigh(LIFE * 1000);
+        ParticleEffect effect = new ParticleEffect();
+        effect.getEmitters().add(emitter);
+        system = new ParticleSystem(Collections.singletonMap("test", new ParticleEffectPool(effect, 1, 1)));
+    }
+
+    @Test
+    public void stopLetsTheEffectRunOut() {
+        int handle = system.spawn("test", 0, 0, 1, ParticleSystem.LAYER_FRONT);
+        system.update(LIFE / 2f, VIEW);
+        assertEquals(1, system.getParticleCount());
+        system.stop(handle);
+        system.update(LIFE, VIEW);
+        assertEquals(0, system.getParticleCount());
+    }
+
+    @Test
+    public void staleHandleDoesNotStopEffectInReusedSlot() {
+        int stale = system.spawn("test", 0, 0, 1, ParticleSystem.LAYER_FRONT);
+        system.clear();
+        int current = system.spawn("test", 0, 0, 1, ParticleSystem.LAYER_FRONT);
+        //same type and emitter slot, only the generation differs
+        assertEquals(stale & 0xffffff, current & 0xffffff);
+        assertNotEquals(stale, current);
+
+        system.stop(stale);
+        //the first particle dies, a stopped effect would not replace it
+        system.update(LIFE, VIEW);
+        system.update(LIFE / 2f, VIEW);
+        assertEquals(1, system.getParticleCount());
+    }
+
+    @Test
+    public void handlesStayValidWhenTheGenerationUsesTheSignBit() {
+        for (int i = 0; i < 200; i++) {
+            system.clear();
+        }
+        int handle = system.spawn("test", 0, 0, 1, ParticleSystem.LAYER_FRONT);
+        assertTrue(handle < 0);
+        system.update(LIFE / 2f, VIEW);
+        system.stop(handle);
+        system.update(LIFE, VIEW);
+        assertEquals(0, system.getParticleCount());
+    }
+}
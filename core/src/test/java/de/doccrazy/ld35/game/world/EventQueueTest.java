@@ -0,0 +1,94 @@
+package de.doccrazy.ld35.game.world;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class EventQueueTest {
+    private static class Event {
+        int value;
+    }
+
+    private static void post(EventQueue<Event> queue, int value) {
+        queue.post().value = value;
+    }
+
+    private static List<Integer> poll(EventQueue<Event> queue) {
+        List<Integer> values = new ArrayList<>();
+        queue.poll(event -> values.add(event.value));
+        return values;
+    }
+
+    @Test
+    public void pollsInPostingOrderAcrossTheWrap() {
+        EventQueue<Event> queue = new EventQueue<>(Event::new, 4);
+        post(queue, 1);
+        post(queue, 2);
+        post(queue, 3);
+        assertEquals(3, poll(queue).size());
+        //head is at slot 3 now, so these wrap around the end of the buffer
+        for (int i = 4; i <= 7; i++) {
+            post(queue, i);
+        }
+        assertEquals(4, queue.size());
+        assertEquals(Arrays.asList(4, 5, 6, 7), poll(queue));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void growsWhileWrappedAndKeepsOrder() {
+        EventQueue<Event> queue = new EventQueue<>(Event::new, 4);
+        post(queue, 0);
+        post(queue, 0);
+        poll(queue);
+        for (int i = 1; i <= 9; i++) {
+            post(queue, i);
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), poll(queue));
+    }
+
+    @Test
+    public void eventsPostedDuringPollWaitForTheNextPoll() {
+        EventQueue<Event> queue = new EventQueue<>(Event::new, 2);
+        post(queue, 1);
+        post(queue, 2);
+        List<Integer> first = new ArrayList<>();
+        queue.poll(event -> {
+            int value = event.value;
+            first.add(value);
+            if (value < 10) {
+                //the second post finds the buffer full and grows it while polling
+                post(queue, value * 10);
+                post(queue, value * 10 + 1);
+            }
+        });
+        assertEquals(Arrays.asList(1, 2), first);
+        assertEquals(Arrays.asList(10, 11, 20, 21), poll(queue));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void reusesEventObjects() {
+        EventQueue<Event> queue = new EventQueue<>(Event::new, 2);
+        Event first = queue.post();
+        poll(queue);
+        queue.post();
+        assertSame(first, queue.post());
+    }
+
+    @Test
+    public void clearDropsQueuedEvents() {
+        EventQueue<Event> queue = new EventQueue<>(Event::new);
+        post(queue, 1);
+        post(queue, 2);
+        queue.clear();
+        assertEquals(0, queue.size());
+        post(queue, 3);
+        assertEquals(Arrays.asList(3), poll(queue));
+    }
+}
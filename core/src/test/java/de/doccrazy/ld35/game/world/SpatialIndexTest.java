@@ -0,0 +1,102 @@
+package de.doccrazy.ld35.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SpatialIndexTest {
+    private SpatialIndex index;
+
+    @Before
+    public void setUp() {
+        index = new SpatialIndex();
+        //5x3 cells of 4 units
+        index.reset(new Rectangle(0, 0, 20, 12));
+    }
+
+    private static Actor actor(float x, float y) {
+        Actor actor = new Actor();
+        actor.setBounds(x, y, 1, 1);
+        return actor;
+    }
+
+    @Test
+    public void actorsOnAndBeyondTheFarEdgeAreIndexed() {
+        Actor onEdge = actor(20, 12);
+        Actor beyond = actor(50, 40);
+        index.add(onEdge);
+        index.add(beyond);
+        assertEquals(2, index.size());
+
+        index.cull(new Rectangle(49, 39, 3, 3));
+        assertFalse(index.isCulled(beyond));
+        assertTrue(index.isCulled(onEdge));
+
+        index.cull(new Rectangle(19, 11, 3, 3));
+        assertFalse(index.isCulled(onEdge));
+        assertTrue(index.isCulled(beyond));
+    }
+
+    @Test
+    public void actorsBeforeTheOriginLandInTheFirstCells() {
+        Actor before = actor(-30, -30);
+        Actor inside = actor(10, 6);
+        index.add(before);
+        index.add(inside);
+
+        Array<Actor> near = index.getActorsNear(-30, -30, 2, new Array<>());
+        assertEquals(1, near.size);
+        assertTrue(near.contains(before, true));
+
+        index.cull(new Rectangle(-31, -31, 3, 3));
+        assertFalse(index.isCulled(before));
+        assertTrue(index.isCulled(inside));
+    }
+
+    @Test
+    public void viewLargerThanTheAreaShowsEverything() {
+        Actor[] actors = {actor(-5, -5), actor(0, 0), actor(10, 6), actor(19, 11), actor(25, 15)};
+        for (Actor actor : actors) {
+            index.add(actor);
+        }
+        index.cull(new Rectangle(-100, -100, 300, 300));
+        for (Actor actor : actors) {
+            assertFalse(index.isCulled(actor));
+        }
+        assertEquals(actors.length, index.getActorsNear(10, 6, 100, new Array<>()).size);
+    }
+
+    @Test
+    public void nearQueryReportsActorsSpanningSeveralCellsOnce() {
+        Actor large = new Actor();
+        large.setBounds(2, 2, 10, 6);
+        index.add(large);
+        assertEquals(1, index.getActorsNear(7, 5, 10, new Array<>()).size);
+    }
+
+    @Test
+    public void cullingLeavesTheVisibleFlagToTheActor() {
+        Actor hidden = actor(1, 1);
+        hidden.setVisible(false);
+        Actor culled = actor(15, 10);
+        index.add(hidden);
+        index.add(culled);
+        index.cull(new Rectangle(0, 0, 4, 4));
+        assertFalse(index.isCulled(hidden));
+        assertFalse(hidden.isVisible());
+        assertTrue(index.isCulled(culled));
+        assertTrue(culled.isVisible());
+    }
+
+    @Test
+    public void actorsWithoutSizeAreNotIndexed() {
+        index.add(new Actor());
+        assertEquals(0, index.size());
+    }
+}
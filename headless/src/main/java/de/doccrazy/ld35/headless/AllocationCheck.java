@@ -0,0 +1,170 @@
+package de.doccrazy.ld35.headless;
+
+import com.badlogic.gdx.files.FileHandle;
+import de.doccrazy.ld35.core.Resource;
+import de.doccrazy.ld35.game.GameScreen;
+import de.doccrazy.ld35.game.level.LevelSource;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.shared.game.world.GameState;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plays a level through the complete GameScreen (world, renderer and UI on the no-op GL) and checks that steady-state
+ * frames do not allocate. After warming up, the bytes allocated by the render thread over the measured frames are
+ * compared against a threshold. On failure, a diagnostic pass records the frames with Flight Recorder allocation events
+ * and prints the allocating call sites. These events are sampled per TLAB, so the per-site numbers are estimates; the
+ * check itself needs a JVM with JFR (8u262+ or 11+).
+ * <p>
+ * Exit status is 0 on success, 1 if the threshold was exceeded and 2 if the round ended before measuring finished.
+ */
+public class AllocationCheck {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int SCREEN_WIDTH = 1280, SCREEN_HEIGHT = 720;
+
+    public static void main(String[] args) {
+        String level = "level.svg";
+        int warmup = 600;
+        int frames = 1000;
+        long maxBytes = 16 * 1024;
+        float delta = HeadlessSimulation.DEFAULT_DELTA;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-w": warmup = Integer.parseInt(args[++i]); break;
+                case "-n": frames = Integer.parseInt(args[++i]); break;
+                case "-b": maxBytes = Long.parseLong(args[++i]); break;
+                case "-d": delta = Float.parseFloat(args[++i]); break;
+                default: level = args[i];
+            }
+        }
+
+        HeadlessRuntime.initGraphics();
+        GameScreen screen = new GameScreen();
+        screen.show();
+        screen.resize(SCREEN_WIDTH, SCREEN_HEIGHT);
+        GameWorld world = screen.getWorld();
+        world.setPlayerController(new ScriptedInput(shapeCycle((warmup + frames) * delta * 2)));
+        FileHandle svg = HeadlessRuntime.levelFile(level);
+        world.setLevel(w -> LevelSource.load(svg).create(w, Resource.GFX.levels.getBackground(svg)));
+
+        for (int i = 0; i < warmup; i++) {
+            screen.render(delta);
+        }
+        if (world.getGameState() != GameState.GAME) {
+            System.err.println("Round not running after warmup: " + world.getGameState());
+            System.exit(2);
+        }
+
+        long overhead = measureOverhead();
+        long start = allocatedBytes();
+        for (int i = 0; i < frames; i++) {
+            screen.render(delta);
+        }
+        long allocated = allocatedBytes() - start - overhead;
+        if (world.isGameFinished()) {
+            System.err.println("Round ended while measuring: " + world.getGameState());
+            System.exit(2);
+        }
+
+        System.out.printf("%s: %d bytes allocated in %d frames (%.1f bytes/frame), limit %d%n",
+                level, allocated, frames, allocated / (float) frames, maxBytes);
+        if (allocated <= maxBytes) {
+            System.exit(0);
+        }
+        printCallSites(screen, delta, Math.min(frames, 100));
+        System.exit(1);
+    }
+
+    /**
+     * Renders some more frames under Flight Recorder and breaks down the render thread's allocations by the first
+     * stack frame outside the JDK, which is the game or library code that caused them.
+     */
+    private static void printCallSites(GameScreen screen, float delta, int frames) {
+        Map<String, Long> perSite = new HashMap<>();
+        try {
+            Path file = Files.createTempFile("allocations", ".jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable("jdk.ObjectAllocationInNewTLAB").withStackTrace();
+                recording.enable("jdk.ObjectAllocationOutsideTLAB").withStackTrace();
+                recording.start();
+                for (int f = 0; f < frames; f++) {
+                    screen.render(delta);
+                }
+                recording.stop();
+                recording.dump(file);
+            }
+            long renderThread = Thread.currentThread().getId();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                RecordedThread thread = event.getThread();
+                if (thread == null || thread.getJavaThreadId() != renderThread || event.getStackTrace() == null) {
+                    continue;
+                }
+                //an in-TLAB event stands for the whole TLAB it opened
+                long bytes = event.hasField("tlabSize") ? event.getLong("tlabSize") : event.getLong("allocationSize");
+                perSite.merge(callSite(event), bytes, Long::sum);
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        List<Map.Entry<String, Long>> sites = new ArrayList<>(perSite.entrySet());
+        sites.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        System.out.println("Estimated allocations per frame by call site:");
+        for (Map.Entry<String, Long> entry : sites.subList(0, Math.min(sites.size(), 20))) {
+            System.out.printf("  %-90s %10.1f%n", entry.getKey(), entry.getValue() / (float) frames);
+        }
+    }
+
+    private static String callSite(RecordedEvent event) {
+        List<RecordedFrame> stack = event.getStackTrace().getFrames();
+        RecordedFrame site = stack.isEmpty() ? null : stack.get(0);
+        for (RecordedFrame frame : stack) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                site = frame;
+                break;
+            }
+        }
+        String allocated = event.getClass("objectClass").getName();
+        if (site == null) {
+            return "? (" + allocated + ")";
+        }
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName() + ":" + site.getLineNumber()
+                + " (" + allocated + ")";
+    }
+
+    /**
+     * Shape changes every half second, so shape switching is part of the measured loop without moving the player
+     */
+    private static InputScript shapeCycle(float duration) {
+        StringBuilder script = new StringBuilder();
+        int shape = 0;
+        for (float t = 0; t < duration; t += 0.5f) {
+            script.append(t).append(" shape ").append(shape).append('\n');
+            shape = (shape + 1) % 3;
+        }
+        return InputScript.parse(script.toString());
+    }
+
+    private static long measureOverhead() {
+        long first = allocatedBytes();
+        return allocatedBytes() - first;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
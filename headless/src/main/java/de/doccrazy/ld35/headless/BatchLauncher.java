@@ -0,0 +1,64 @@
+package de.doccrazy.ld35.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchLauncher {
+	public static void main (String[] args) {
+		int runs = 1;
+		int threads = Runtime.getRuntime().availableProcessors();
+		float delta = HeadlessSimulation.DEFAULT_DELTA;
+		float maxTime = 600f;
+		InputScript script = InputScript.IDLE;
+		List<String> levels = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-n": runs = Integer.parseInt(args[++i]); break;
+				case "-t": threads = Integer.parseInt(args[++i]); break;
+				case "-d": delta = Float.parseFloat(args[++i]); break;
+				case "-m": maxTime = Float.parseFloat(args[++i]); break;
+				case "-s": script = InputScript.parse(Gdx.files.absolute(args[++i])); break;
+				default: levels.add(args[i]);
+			}
+		}
+
+		HeadlessRuntime.init();
+		if (levels.isEmpty()) {
+			levels.add("level.svg");
+			levels.add("level2.svg");
+			FileHandle levelDir = Gdx.files.local("levels");
+			if (levelDir.isDirectory()) {
+				for (FileHandle file : levelDir.list(".svg")) {
+					levels.add(file.path());
+				}
+			}
+		}
+
+		List<RunSpec> specs = new ArrayList<>();
+		for (String level : levels) {
+			for (int i = 0; i < runs; i++) {
+				specs.add(new RunSpec(level, script, delta, maxTime));
+			}
+		}
+
+		BatchRunner runner = new BatchRunner(threads);
+		long start = System.nanoTime();
+		List<RunResult> results = runner.run(specs);
+		float seconds = (System.nanoTime() - start) / 1e9f;
+		runner.shutdown();
+
+		long steps = 0;
+		int victories = 0;
+		for (RunResult result : results) {
+			System.out.println(result);
+			steps += result.getSteps();
+			victories += result.isVictory() ? 1 : 0;
+		}
+		System.out.printf("%d runs on %d threads in %.2fs, %d victories, %.0f steps/s total%n",
+				results.size(), threads, seconds, victories, steps / seconds);
+		System.exit(0);
+	}
+}
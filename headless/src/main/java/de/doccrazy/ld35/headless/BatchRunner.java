@@ -0,0 +1,69 @@
+package de.doccrazy.ld35.headless;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs independent headless simulations in parallel on a work-stealing pool. Every run owns its GameWorld and
+ * Box2D world, and writes its result into its own slot, so nothing is shared between runs while they step; only
+ * world creation and disposal are serialized, see {@link HeadlessRuntime#createWorld()}.
+ */
+public class BatchRunner {
+    private final ForkJoinPool pool;
+
+    public BatchRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchRunner(int parallelism) {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    public List<RunResult> run(List<RunSpec> specs) {
+        HeadlessRuntime.init();
+        RunResult[] results = new RunResult[specs.size()];
+        pool.invoke(new RunRange(specs, results, 0, specs.size()));
+        return Arrays.asList(results);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    static RunResult runSingle(RunSpec spec) {
+        HeadlessSimulation sim = new HeadlessSimulation(HeadlessRuntime.levelSource(spec.getLevel()),
+                spec.getDelta(), new ScriptedInput(spec.getScript()));
+        try {
+            long start = System.nanoTime();
+            sim.run(spec.getMaxTime());
+            return new RunResult(spec, sim.getWorld().getGameState(), sim.getSimulatedTime(), sim.getSteps(), System.nanoTime() - start);
+        } finally {
+            sim.dispose();
+        }
+    }
+
+    private static class RunRange extends RecursiveAction {
+        private final List<RunSpec> specs;
+        private final RunResult[] results;
+        private final int from, to;
+
+        RunRange(List<RunSpec> specs, RunResult[] results, int from, int to) {
+            this.specs = specs;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = runSingle(specs.get(from));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RunRange(specs, results, from, mid), new RunRange(specs, results, mid, to));
+        }
+    }
+}
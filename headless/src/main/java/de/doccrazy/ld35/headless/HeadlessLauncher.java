@@ -0,0 +1,24 @@
+package de.doccrazy.ld35.headless;
+
+import de.doccrazy.shared.game.world.GameState;
+
+public class HeadlessLauncher {
+	public static void main (String[] args) {
+		if (args.length < 1) {
+			System.err.println("Usage: HeadlessLauncher <level.svg> [delta] [maxTime]");
+			System.exit(1);
+		}
+		float delta = args.length > 1 ? Float.parseFloat(args[1]) : HeadlessSimulation.DEFAULT_DELTA;
+		float maxTime = args.length > 2 ? Float.parseFloat(args[2]) : 600f;
+
+		HeadlessRuntime.init();
+		HeadlessSimulation sim = new HeadlessSimulation(HeadlessRuntime.readLevel(HeadlessRuntime.levelFile(args[0])), delta);
+		long start = System.nanoTime();
+		GameState result = sim.run(maxTime);
+		float seconds = (System.nanoTime() - start) / 1e9f;
+		System.out.printf("%s: %s after %.2fs simulated, %d steps in %.3fs (%.0f steps/s)%n",
+				args[0], result, sim.getSimulatedTime(), sim.getSteps(), seconds, sim.getSteps() / seconds);
+		sim.dispose();
+		System.exit(0);
+	}
+}
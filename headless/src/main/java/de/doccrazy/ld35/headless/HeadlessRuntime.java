@@ -0,0 +1,108 @@
+package de.doccrazy.ld35.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.utils.XmlReader;
+import de.doccrazy.ld35.core.Resource;
+import de.doccrazy.ld35.game.level.LevelSource;
+import de.doccrazy.ld35.game.world.GameWorld;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Sets up the libgdx environment (files, natives, a no-op GL) for running game worlds without a window.
+ * Resource is only initialized by {@link #initGraphics()}; otherwise worlds must be created with headless = true.
+ */
+public final class HeadlessRuntime {
+    //guards libgdx's static, unsynchronized lists of managed meshes, shaders and framebuffers
+    private static final Object MANAGED_RESOURCES = new Object();
+    private static boolean initialized;
+
+    private HeadlessRuntime() {
+    }
+
+    public static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        CountDownLatch created = new CountDownLatch(1);
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        //never call render(), we drive the worlds ourselves
+        config.renderInterval = -1;
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                created.countDown();
+            }
+        }, config);
+        try {
+            created.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        Gdx.gl = Gdx.gl20 = NoopGL20.create();
+        Box2D.init();
+        initialized = true;
+    }
+
+    /**
+     * Additionally loads all game resources against the no-op GL, so full screens and renderers can be driven
+     */
+    public static synchronized void initGraphics() {
+        init();
+        if (Resource.GFX == null) {
+            Resource.init();
+        }
+    }
+
+    /**
+     * Creates a headless world. The base class still builds a Stage batch and a RayHandler, which register in
+     * libgdx's static managed resource lists, so worlds created on several threads are built one at a time.
+     */
+    public static GameWorld createWorld() {
+        synchronized (MANAGED_RESOURCES) {
+            return new GameWorld(true);
+        }
+    }
+
+    /**
+     * Releases everything a headless world holds: the Stage batch and RayHandler the base class creates even
+     * without graphics, and the Box2D world
+     */
+    public static void disposeWorld(GameWorld world) {
+        synchronized (MANAGED_RESOURCES) {
+            world.stage.dispose();
+            world.rayHandler.dispose();
+        }
+        world.box2dWorld.dispose();
+    }
+
+    /**
+     * Resolves a level by path, trying the internal assets first
+     */
+    public static FileHandle levelFile(String path) {
+        FileHandle file = Gdx.files.internal(path);
+        return file.exists() ? file : Gdx.files.absolute(path);
+    }
+
+    /**
+     * Loads a level by path, preferring its compiled form
+     */
+    public static LevelSource levelSource(String path) {
+        return LevelSource.load(levelFile(path));
+    }
+
+    public static XmlReader.Element readLevel(FileHandle file) {
+        try {
+            return new XmlReader().parse(file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
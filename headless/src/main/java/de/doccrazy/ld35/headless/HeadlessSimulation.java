@@ -0,0 +1,93 @@
+package de.doccrazy.ld35.headless;
+
+import com.badlogic.gdx.utils.XmlReader;
+import de.doccrazy.ld35.game.actor.Level;
+import de.doccrazy.ld35.game.actor.PlayerController;
+import de.doccrazy.ld35.game.actor.SVGLevelActor;
+import de.doccrazy.ld35.game.level.LevelSource;
+import de.doccrazy.ld35.game.world.GameWorld;
+import de.doccrazy.shared.game.world.GameState;
+
+import java.util.function.Function;
+
+/**
+ * Runs a single level in a headless GameWorld with a fixed time step, as fast as the CPU allows.
+ */
+public class HeadlessSimulation {
+    public static final float DEFAULT_DELTA = 1f / 60f;
+
+    private final GameWorld world;
+    private final float delta;
+    private long steps;
+    private float simulatedTime;
+
+    public HeadlessSimulation(XmlReader.Element level) {
+        this(level, DEFAULT_DELTA);
+    }
+
+    public HeadlessSimulation(XmlReader.Element level, float delta) {
+        this(level, delta, null);
+    }
+
+    /**
+     * @param controller scripted player input, or null for an idle player
+     */
+    public HeadlessSimulation(XmlReader.Element level, float delta, PlayerController controller) {
+        this(w -> new SVGLevelActor(w, level), delta, controller);
+    }
+
+    public HeadlessSimulation(LevelSource level, float delta, PlayerController controller) {
+        this(w -> level.create(w, null), delta, controller);
+    }
+
+    private HeadlessSimulation(Function<GameWorld, Level> levelFactory, float delta, PlayerController controller) {
+        HeadlessRuntime.init();
+        this.delta = delta;
+        world = HeadlessRuntime.createWorld();
+        world.setPlayerController(controller);
+        world.setLevel(levelFactory);
+    }
+
+    /**
+     * Advances the world by one fixed step
+     * @return true while the round is still running
+     */
+    public boolean step() {
+        return step(delta);
+    }
+
+    /**
+     * Advances the world by the given delta, e.g. the one a replayed frame was recorded with
+     */
+    public boolean step(float delta) {
+        world.update(delta);
+        steps++;
+        simulatedTime += delta;
+        return !world.isGameFinished();
+    }
+
+    /**
+     * Steps until victory/defeat or until maxTime seconds have been simulated
+     */
+    public GameState run(float maxTime) {
+        while (getSimulatedTime() < maxTime && step()) {
+        }
+        return world.getGameState();
+    }
+
+    public GameWorld getWorld() {
+        return world;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public float getSimulatedTime() {
+        return simulatedTime;
+    }
+
+    public void dispose() {
+        HeadlessRuntime.disposeWorld(world);
+    }
+}
@@ -0,0 +1,107 @@
+package de.doccrazy.ld35.headless;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Immutable list of timed player commands, parsed from a text file with one command per line:
+ * <pre>
+ * # time  command  args
+ * 0.0     move     1 0
+ * 1.5     jump
+ * 2.0     shape    2
+ * </pre>
+ * A script can be shared between threads; each run replays it through its own {@link ScriptedInput}.
+ */
+public class InputScript {
+    public static final int CMD_MOVE = 0;
+    public static final int CMD_JUMP = 1;
+    public static final int CMD_SHAPE = 2;
+
+    public static final InputScript IDLE = new InputScript(new float[0], new int[0], new float[0], new float[0]);
+
+    private final float[] time;
+    private final int[] command;
+    private final float[] arg1, arg2;
+
+    private InputScript(float[] time, int[] command, float[] arg1, float[] arg2) {
+        this.time = time;
+        this.command = command;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+    }
+
+    public static InputScript parse(FileHandle file) {
+        return parse(file.readString());
+    }
+
+    public static InputScript parse(String text) {
+        FloatArray time = new FloatArray(), arg1 = new FloatArray(), arg2 = new FloatArray();
+        IntArray command = new IntArray();
+        String[] lines = text.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected <time> <command>");
+            }
+            float t = Float.parseFloat(parts[0]);
+            if (time.size > 0 && t < time.peek()) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": commands must be ordered by time");
+            }
+            switch (parts[1]) {
+                case "move":
+                    requireArgument(parts, i, "move <x> [<y>]");
+                    command.add(CMD_MOVE);
+                    arg1.add(Float.parseFloat(parts[2]));
+                    arg2.add(parts.length > 3 ? Float.parseFloat(parts[3]) : 0f);
+                    break;
+                case "jump":
+                    command.add(CMD_JUMP);
+                    arg1.add(0f);
+                    arg2.add(0f);
+                    break;
+                case "shape":
+                    requireArgument(parts, i, "shape <index>");
+                    command.add(CMD_SHAPE);
+                    arg1.add(Integer.parseInt(parts[2]));
+                    arg2.add(0f);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Line " + (i + 1) + ": unknown command " + parts[1]);
+            }
+            time.add(t);
+        }
+        return new InputScript(time.toArray(), command.toArray(), arg1.toArray(), arg2.toArray());
+    }
+
+    private static void requireArgument(String[] parts, int line, String usage) {
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("Line " + (line + 1) + ": expected <time> " + usage);
+        }
+    }
+
+    public int size() {
+        return time.length;
+    }
+
+    public float getTime(int i) {
+        return time[i];
+    }
+
+    public int getCommand(int i) {
+        return command[i];
+    }
+
+    public float getArg1(int i) {
+        return arg1[i];
+    }
+
+    public float getArg2(int i) {
+        return arg2[i];
+    }
+}
@@ -0,0 +1,33 @@
+package de.doccrazy.ld35.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import de.doccrazy.ld35.game.level.LevelCompiler;
+import de.doccrazy.ld35.game.level.LevelData;
+import de.doccrazy.ld35.game.level.LevelSource;
+import de.doccrazy.ld35.game.world.GameWorld;
+
+/**
+ * Compiles level SVGs into the binary *.lvl format, including their baked lightmaps. Paths are relative to the working directory and keep their
+ * relative location below the output directory.
+ */
+public class LevelCompilerLauncher {
+	public static void main (String[] args) {
+		if (args.length < 2) {
+			System.err.println("Usage: LevelCompilerLauncher <outDir> <level.svg>...");
+			System.exit(1);
+		}
+		HeadlessRuntime.init();
+		FileHandle outDir = Gdx.files.absolute(args[0]);
+		for (int i = 1; i < args.length; i++) {
+			String path = args[i].replace('\\', '/');
+			GameWorld world = HeadlessRuntime.createWorld();
+			LevelData data = LevelCompiler.compile(world, HeadlessRuntime.readLevel(Gdx.files.local(path)), false);
+			FileHandle out = outDir.child(path.substring(0, path.lastIndexOf('.')) + LevelSource.EXTENSION);
+			data.save(out);
+			HeadlessRuntime.disposeWorld(world);
+			System.out.println("Compiled " + path + " -> " + out.path() + " (" + out.length() + " bytes)");
+		}
+		System.exit(0);
+	}
+}
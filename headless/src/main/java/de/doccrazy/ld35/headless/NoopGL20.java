@@ -0,0 +1,51 @@
+package de.doccrazy.ld35.headless;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GL20 implementation that does nothing, so GL objects created by the shared base classes (stage batch, ray handler)
+ * can be constructed without a context. Object names are handed out sequentially, and shaders/framebuffers report success.
+ */
+public final class NoopGL20 {
+    private static final AtomicInteger nextHandle = new AtomicInteger(1);
+
+    private NoopGL20() {
+    }
+
+    public static GL20 create() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, (proxy, method, args) -> {
+            String name = method.getName();
+            Class<?> type = method.getReturnType();
+            if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+                int pname = (Integer) args[1];
+                if (pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS) {
+                    ((IntBuffer) args[2]).put(0, 1);
+                }
+                return null;
+            }
+            if (type == int.class) {
+                if (name.startsWith("glGen") || name.startsWith("glCreate")) {
+                    return nextHandle.getAndIncrement();
+                }
+                if (name.equals("glCheckFramebufferStatus")) {
+                    return GL20.GL_FRAMEBUFFER_COMPLETE;
+                }
+                return 0;
+            }
+            if (type == String.class) {
+                return "";
+            }
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == float.class) {
+                return 0f;
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package de.doccrazy.ld35.headless;
+
+import com.badlogic.gdx.Gdx;
+import de.doccrazy.ld35.game.replay.InputRecording;
+import de.doccrazy.ld35.game.replay.ReplayController;
+
+/**
+ * Replays a recording (e.g. replays/last.rec from a player) against a level as fast as possible
+ */
+public class ReplayLauncher {
+	public static void main (String[] args) {
+		if (args.length < 2) {
+			System.err.println("Usage: ReplayLauncher <level.svg> <recording>");
+			System.exit(1);
+		}
+		HeadlessRuntime.init();
+		InputRecording recording = InputRecording.load(Gdx.files.absolute(args[1]));
+		ReplayController replay = new ReplayController(recording);
+		HeadlessSimulation sim = new HeadlessSimulation(HeadlessRuntime.readLevel(HeadlessRuntime.levelFile(args[0])),
+				recording.getDelta(), replay);
+
+		long start = System.nanoTime();
+		float endTime = -1;
+		while (sim.step(replay.peekDelta())) {
+			//give the world a moment to register death/victory after the last recorded frame
+			if (replay.isFinished() && endTime < 0) {
+				endTime = sim.getSimulatedTime() + 2f;
+			}
+			if (endTime >= 0 && sim.getSimulatedTime() > endTime) {
+				break;
+			}
+		}
+		float seconds = (System.nanoTime() - start) / 1e9f;
+		System.out.printf("Replay of '%s' (%d steps, %d bytes): %s after %.2fs simulated, in %.3fs%n",
+				recording.getLevel(), recording.getSteps(), recording.getSizeBytes(),
+				sim.getWorld().getGameState(), sim.getSimulatedTime(), seconds);
+		sim.dispose();
+		System.exit(0);
+	}
+}
@@ -0,0 +1,53 @@
+package de.doccrazy.ld35.headless;
+
+import de.doccrazy.shared.game.world.GameState;
+
+public class RunResult {
+    private final RunSpec spec;
+    private final GameState state;
+    private final float simulatedTime;
+    private final long steps;
+    private final long wallNanos;
+
+    public RunResult(RunSpec spec, GameState state, float simulatedTime, long steps, long wallNanos) {
+        this.spec = spec;
+        this.state = state;
+        this.simulatedTime = simulatedTime;
+        this.steps = steps;
+        this.wallNanos = wallNanos;
+    }
+
+    public RunSpec getSpec() {
+        return spec;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public boolean isVictory() {
+        return state == GameState.VICTORY;
+    }
+
+    public float getSimulatedTime() {
+        return simulatedTime;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public double getStepsPerSecond() {
+        return wallNanos == 0 ? 0 : steps * 1e9 / wallNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s after %.2fs, %d steps (%.0f steps/s)",
+                spec.getLevel(), state, simulatedTime, steps, getStepsPerSecond());
+    }
+}
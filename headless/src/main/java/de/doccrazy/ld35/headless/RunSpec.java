@@ -0,0 +1,34 @@
+package de.doccrazy.ld35.headless;
+
+/**
+ * One headless level attempt: which level, which input and how long to simulate
+ */
+public class RunSpec {
+    private final String level;
+    private final InputScript script;
+    private final float delta;
+    private final float maxTime;
+
+    public RunSpec(String level, InputScript script, float delta, float maxTime) {
+        this.level = level;
+        this.script = script;
+        this.delta = delta;
+        this.maxTime = maxTime;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public InputScript getScript() {
+        return script;
+    }
+
+    public float getDelta() {
+        return delta;
+    }
+
+    public float getMaxTime() {
+        return maxTime;
+    }
+}
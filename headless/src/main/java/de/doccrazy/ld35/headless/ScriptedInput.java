@@ -0,0 +1,51 @@
+package de.doccrazy.ld35.headless;
+
+import com.badlogic.gdx.math.Vector2;
+import de.doccrazy.ld35.game.actor.PlayerActor;
+import de.doccrazy.ld35.game.actor.PlayerController;
+
+/**
+ * Plays back an {@link InputScript} as player input, advancing with the world's step time
+ */
+public class ScriptedInput implements PlayerController {
+    private final InputScript script;
+    private final Vector2 movement = new Vector2();
+    private float time;
+    private int next;
+    private boolean jump;
+
+    public ScriptedInput(InputScript script) {
+        this.script = script;
+    }
+
+    @Override
+    public void beforeStep(PlayerActor player, float delta) {
+        while (next < script.size() && script.getTime(next) <= time) {
+            switch (script.getCommand(next)) {
+                case InputScript.CMD_MOVE:
+                    movement.set(script.getArg1(next), script.getArg2(next));
+                    break;
+                case InputScript.CMD_JUMP:
+                    jump = true;
+                    break;
+                case InputScript.CMD_SHAPE:
+                    player.setShapeState((int) script.getArg1(next));
+                    break;
+            }
+            next++;
+        }
+        time += delta;
+    }
+
+    @Override
+    public Vector2 getMovement() {
+        return movement;
+    }
+
+    @Override
+    public boolean pollJump() {
+        boolean result = jump;
+        jump = false;
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package de.doccrazy.ld35.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import de.doccrazy.ld35.resources.CompressedTextures;
+import de.doccrazy.ld35.resources.TiledBackground;
+
+/**
+ * Builds the ETC2 and DXT1 KTX variants of large PNGs, see {@link CompressedTextures}. Images after --tiled are level
+ * backgrounds and are compressed per tile. Images or tiles with transparency are skipped and stay PNG only.
+ * Paths are relative to the working directory and keep their relative location below the output directory.
+ */
+public class TextureCompressorLauncher {
+	public static void main (String[] args) {
+		if (args.length < 2) {
+			System.err.println("Usage: TextureCompressorLauncher <outDir> <image.png>... [--tiled <background.png>...]");
+			System.exit(1);
+		}
+		HeadlessRuntime.init();
+		FileHandle outDir = Gdx.files.absolute(args[0]);
+		boolean tiled = false;
+		for (int i = 1; i < args.length; i++) {
+			if (args[i].equals("--tiled")) {
+				tiled = true;
+				continue;
+			}
+			String path = args[i].replace('\\', '/');
+			FileHandle png = Gdx.files.local(path);
+			FileHandle out = outDir.child(path);
+			Pixmap image = new Pixmap(png);
+			if (tiled) {
+				compressTiles(png, image, CompressedTextures.tileDir(out));
+			} else if (CompressedTextures.isOpaque(image)) {
+				for (CompressedTextures.Format format : CompressedTextures.Format.values()) {
+					CompressedTextures.write(image, CompressedTextures.variant(out, format), format);
+					System.out.println("Compressed " + path + " -> " + CompressedTextures.variant(out, format).path());
+				}
+			} else {
+				System.out.println("Skipped " + path + ": not opaque");
+			}
+			image.dispose();
+		}
+		System.exit(0);
+	}
+
+	private static void compressTiles(FileHandle png, Pixmap image, FileHandle tileDir) {
+		tileDir.deleteDirectory();
+		int cols = TiledBackground.columns(image.getWidth()), rows = TiledBackground.columns(image.getHeight());
+		int compressed = 0;
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < cols; col++) {
+				Pixmap tile = TiledBackground.cutTile(image, col, row);
+				if (CompressedTextures.isOpaque(tile)) {
+					for (CompressedTextures.Format format : CompressedTextures.Format.values()) {
+						CompressedTextures.write(tile, CompressedTextures.tile(tileDir, row * cols + col, format), format);
+					}
+					compressed++;
+				}
+				tile.dispose();
+			}
+		}
+		TiledBackground.writeLayout(png, image, tileDir);
+		System.out.println("Compressed " + compressed + " of " + (cols * rows) + " tiles of " + png.path() + " -> " + tileDir.path());
+	}
+}